@@ -1,51 +1,129 @@
 package backend.jobkrchatbot.apigateway.filter;
 
-import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
-@Slf4j
+/**
+ * 요청당 access log 1건 + 라우트별 응답 시간 히스토그램
+ * - 요청 완료(정상/오류/취소) 시점에 한 번만 계산해 ACCESS_LOG 로거(logback-spring.xml의 비동기 appender)로 넘김
+ * - 로그는 sample-rate 비율만 기록하되 5xx와 slow-threshold 이상은 항상 기록
+ * - 히스토그램은 샘플링과 관계없이 모든 요청을 기록 (/actuator/prometheus)
+ *
+ * 메트릭
+ * - gateway.requests{route,method,status}: 라우트별 응답 시간 (percentiles histogram)
+ */
 @Component
 public class GlobalLoggingFilter implements GlobalFilter, Ordered {
 
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final Logger accessLog = LoggerFactory.getLogger("ACCESS_LOG");
+    private static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean logEnabled;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    // route|method|status 별 Timer (매 요청마다 빌더/태그를 만들지 않음)
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public GlobalLoggingFilter(MeterRegistry meterRegistry,
+                               @Value("${gateway.access-log.enabled:true}") boolean logEnabled,
+                               @Value("${gateway.access-log.sample-rate:1.0}") double sampleRate,
+                               @Value("${gateway.access-log.slow-threshold:2s}") Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.logEnabled = logEnabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long startTime = System.nanoTime();
+        return chain.filter(exchange)
+            .doFinally(signal -> complete(exchange, signal, System.nanoTime() - startTime));
+    }
+
+    private void complete(ServerWebExchange exchange, SignalType signal, long durationNanos) {
         ServerHttpRequest request = exchange.getRequest();
-        String path = request.getPath().value();
+        String route = routeId(exchange);
         String method = request.getMethod().name();
-        String remoteAddress = request.getRemoteAddress() != null ? 
-            request.getRemoteAddress().getAddress().getHostAddress() : "unknown";
-        
-        String timestamp = LocalDateTime.now().format(formatter);
-        
-        log.info("[{}] {} {} from {} - Request started", timestamp, method, path, remoteAddress);
-        
-        long startTime = System.currentTimeMillis();
-        
-        return chain.filter(exchange)
-            .then(Mono.fromRunnable(() -> {
-                long endTime = System.currentTimeMillis();
-                long duration = endTime - startTime;
-                int statusCode = exchange.getResponse().getStatusCode() != null ? 
-                    exchange.getResponse().getStatusCode().value() : 0;
-                
-                log.info("[{}] {} {} - Response: {} ({}ms)", 
-                    LocalDateTime.now().format(formatter), method, path, statusCode, duration);
-            }));
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        int status = statusCode != null ? statusCode.value() : 0;
+
+        timer(route, method, status).record(durationNanos, TimeUnit.NANOSECONDS);
+
+        if (!logEnabled || !accessLog.isInfoEnabled() || !sampled(status, durationNanos)) {
+            return;
+        }
+        // 타임스탬프는 logback 패턴(%d)에서 찍으므로 여기서는 포맷하지 않음
+        accessLog.info("method={} path={} route={} status={} duration_ms={} signal={} remote={} user={}",
+            method,
+            request.getPath().value(),
+            route,
+            status,
+            TimeUnit.NANOSECONDS.toMillis(durationNanos),
+            signal,
+            remoteAddress(request),
+            userId(request));
+    }
+
+    private boolean sampled(int status, long durationNanos) {
+        if (status >= 500 || durationNanos >= slowThresholdNanos) {
+            return true;
+        }
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private Timer timer(String route, String method, int status) {
+        String key = route + '|' + method + '|' + status;
+        return timers.computeIfAbsent(key, k -> Timer.builder("gateway.requests")
+            .description("Gateway request latency by route")
+            .tag("route", route)
+            .tag("method", method)
+            .tag("status", String.valueOf(status))
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : UNKNOWN;
+    }
+
+    private static String remoteAddress(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+        return address != null && address.getAddress() != null ? address.getAddress().getHostAddress() : UNKNOWN;
+    }
+
+    private static String userId(ServerHttpRequest request) {
+        String userId = request.getHeaders().getFirst("X-User-Id");
+        return userId != null && !userId.isEmpty() ? userId : "-";
     }
 
     @Override
     public int getOrder() {
-        return Ordered.LOWEST_PRECEDENCE;
+        // 다른 필터(rate limiter, circuit breaker 등) 시간까지 포함되도록 가장 먼저 실행
+        return Ordered.HIGHEST_PRECEDENCE;
     }
 }
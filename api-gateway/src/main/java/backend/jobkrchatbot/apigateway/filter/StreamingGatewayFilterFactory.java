@@ -0,0 +1,183 @@
+package backend.jobkrchatbot.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 장시간 SSE 연결 전용 라우트 필터 (filters: - name: Streaming)
+ * - Retry/CircuitBreaker/RequestRateLimiter 없이 응답 바이트를 그대로 흘려보냄
+ *   (text/event-stream은 NettyWriteResponseFilter가 이벤트마다 flush하므로 여기서는 버퍼링하지 않음)
+ * - idle-timeout 동안 아무 바이트(ping 포함)도 없거나 max-duration이 지나면 스트림을 정상 종료
+ *   (클라이언트는 Last-Event-ID로 재연결해 이어받음)
+ * - 사용자별(max-per-user, userKeyResolver 기준)/노드별(max-per-node) 동시 스트림 수 제한, 초과 시 429
+ *
+ * 메트릭
+ * - gateway.streams.active: 이 노드의 활성 스트림 수
+ * - gateway.streams.rejected{reason=user|node}: 동시 스트림 한도로 거절된 연결
+ * - gateway.streams.closed{reason=idle|max-duration}: 게이트웨이가 타임아웃으로 종료한 스트림
+ */
+@Slf4j
+@Component
+public class StreamingGatewayFilterFactory extends AbstractGatewayFilterFactory<StreamingGatewayFilterFactory.Config> {
+
+    private final KeyResolver keyResolver;
+    private final int maxPerUser;
+    private final int maxPerNode;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final Map<String, Integer> activeByUser = new ConcurrentHashMap<>();
+
+    private final Counter rejectedByUser;
+    private final Counter rejectedByNode;
+    private final Counter closedIdle;
+    private final Counter closedMaxDuration;
+
+    public StreamingGatewayFilterFactory(MeterRegistry meterRegistry,
+                                         @Qualifier("userKeyResolver") KeyResolver keyResolver,
+                                         @Value("${gateway.streaming.max-per-user:5}") int maxPerUser,
+                                         @Value("${gateway.streaming.max-per-node:5000}") int maxPerNode) {
+        super(Config.class);
+        this.keyResolver = keyResolver;
+        this.maxPerUser = maxPerUser;
+        this.maxPerNode = maxPerNode;
+
+        Gauge.builder("gateway.streams.active", active, AtomicInteger::get)
+            .description("Active streaming connections on this gateway node")
+            .register(meterRegistry);
+        this.rejectedByUser = rejected(meterRegistry, "user");
+        this.rejectedByNode = rejected(meterRegistry, "node");
+        this.closedIdle = closed(meterRegistry, "idle");
+        this.closedMaxDuration = closed(meterRegistry, "max-duration");
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("gateway.streams.rejected")
+            .description("Streaming connections rejected by concurrency limits")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    private static Counter closed(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("gateway.streams.closed")
+            .description("Streaming connections closed by the gateway")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> keyResolver.resolve(exchange)
+            .defaultIfEmpty("unknown")
+            .flatMap(user -> {
+                String rejectedReason = acquire(user);
+                if (rejectedReason != null) {
+                    log.warn("Streaming connection rejected ({} limit) - user: {}", rejectedReason, user);
+                    exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                    return exchange.getResponse().setComplete();
+                }
+
+                ServerWebExchange streaming = exchange.mutate()
+                    .response(new StreamingResponse(exchange.getResponse(), config))
+                    .build();
+                return chain.filter(streaming)
+                    .doFinally(signal -> release(user));
+            });
+    }
+
+    /**
+     * 노드/사용자 슬롯 확보
+     *
+     * @return 거절 사유 (user|node), 확보했으면 null
+     */
+    private String acquire(String user) {
+        if (active.incrementAndGet() > maxPerNode) {
+            active.decrementAndGet();
+            rejectedByNode.increment();
+            return "node";
+        }
+        // 증가와 한도 검사를 같은 compute 안에서 수행 (release가 0에서 엔트리를 지워도 증가가 유실되지 않음)
+        boolean[] rejected = new boolean[1];
+        activeByUser.compute(user, (k, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxPerUser) {
+                rejected[0] = true;
+                return count;
+            }
+            return current + 1;
+        });
+        if (rejected[0]) {
+            active.decrementAndGet();
+            rejectedByUser.increment();
+            return "user";
+        }
+        return null;
+    }
+
+    private void release(String user) {
+        active.decrementAndGet();
+        // 감소와 제거를 같은 compute 안에서 수행, 0이 되면 맵에서 제거
+        activeByUser.computeIfPresent(user, (k, count) -> count <= 1 ? null : count - 1);
+    }
+
+    /**
+     * 응답 본문에 idle/total 타임아웃 적용 (타임아웃은 오류 대신 정상 종료로 처리)
+     */
+    private class StreamingResponse extends ServerHttpResponseDecorator {
+
+        private final Config config;
+
+        StreamingResponse(ServerHttpResponse delegate, Config config) {
+            super(delegate);
+            this.config = config;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(limit(Flux.from(body)));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(limit(Flux.from(body)));
+        }
+
+        private <T> Flux<T> limit(Flux<T> body) {
+            return body
+                .timeout(config.getIdleTimeout(), Flux.defer(() -> {
+                    closedIdle.increment();
+                    return Flux.empty();
+                }))
+                .takeUntilOther(Mono.delay(config.getMaxDuration())
+                    .doOnNext(tick -> closedMaxDuration.increment()));
+        }
+    }
+
+    @Data
+    public static class Config {
+        // llm-service keep-alive(llm.sse.heartbeat.interval, 기본 5m)보다 길어야 함
+        private Duration idleTimeout = Duration.ofMinutes(6);
+        private Duration maxDuration = Duration.ofMinutes(30);
+    }
+}
@@ -0,0 +1,23 @@
+package chatservice.application.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 커서 기반 채팅 히스토리 페이지
+ * - messages: 시간순 (오래된 메시지 → 최근 메시지)
+ * - beforeCursor: 이 페이지보다 오래된 메시지 조회용 (?before=)
+ * - afterCursor: 이 페이지보다 최근 메시지 조회용 (?after=)
+ * - hasMore: 요청한 방향으로 메시지가 더 있는지 여부
+ */
+@Data
+@Builder
+public class ChatHistoryPageResponse {
+    private String chatRoomId;
+    private List<ChatMessageResponse> messages;
+    private String beforeCursor;
+    private String afterCursor;
+    private boolean hasMore;
+}
@@ -1,6 +1,6 @@
 package chatservice.application.dto;
 
-import chatservice.domain.model.ChatRoom;
+import chatservice.domain.model.ChatRoomSummary;
 import lombok.Builder;
 import lombok.Data;
 
@@ -13,13 +13,17 @@ public class ChatRoomSummaryResponse {
     private String userId;
     private LocalDateTime createdAt;
     private int messageCount;
+    private LocalDateTime lastMessageAt;
+    private String lastMessagePreview;
     
-    public static ChatRoomSummaryResponse from(ChatRoom chatRoom) {
+    public static ChatRoomSummaryResponse from(ChatRoomSummary summary) {
         return ChatRoomSummaryResponse.builder()
-                .id(chatRoom.getId())
-                .userId(chatRoom.getUserId())
-                .createdAt(chatRoom.getCreatedAt())
-                .messageCount(chatRoom.getMessageCount())
+                .id(summary.getId())
+                .userId(summary.getUserId())
+                .createdAt(summary.getCreatedAt())
+                .messageCount(summary.getMessageCount())
+                .lastMessageAt(summary.getLastMessageAt())
+                .lastMessagePreview(summary.getLastMessagePreview())
                 .build();
     }
-} 
\ No newline at end of file
+}
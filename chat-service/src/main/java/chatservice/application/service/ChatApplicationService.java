@@ -1,18 +1,22 @@
 package chatservice.application.service;
 
+import backend.jobkrchatbot.event.LlmErrorEvent;
+import backend.jobkrchatbot.event.LlmResponseEvent;
 import chatservice.domain.model.ChatMessage;
 import chatservice.domain.model.ChatRoom;
+import chatservice.domain.model.MessageCursor;
 import chatservice.domain.port.ChatRepository;
 import chatservice.domain.port.MessagePublisher;
+import chatservice.domain.port.RecentMessageCache;
 import chatservice.application.dto.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -21,8 +25,13 @@ import java.util.UUID;
 @Transactional
 public class ChatApplicationService {
     
+    private static final int DEFAULT_HISTORY_SIZE = 50;
+    private static final int MAX_HISTORY_SIZE = 200;
+    private static final int MAX_ROOM_PAGE_SIZE = 100;
+    
     private final ChatRepository chatRepository;
     private final MessagePublisher messagePublisher;
+    private final RecentMessageCache recentMessageCache;
     private final MessageService messageService;
     private final LlmIntegrationService llmIntegrationService;
     
@@ -63,13 +72,14 @@ public class ChatApplicationService {
     }
     
     /**
-     * 채팅 히스토리 조회
+     * 채팅 히스토리 조회 (최근 50개)
+     * - Redis 최근 메시지 버퍼를 먼저 보고, 없으면 DB에서 읽어 버퍼를 채움
+     * - 캐시 적중 시 DB 커넥션을 잡지 않도록 트랜잭션 없이 실행 (DB 조회는 리포지토리 트랜잭션으로 처리)
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ChatHistoryResponse getChatHistory(String chatRoomId) {
-        ChatRoom chatRoom = chatRepository.findById(chatRoomId)
-                .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다: " + chatRoomId));
-        
-        List<ChatMessage> messages = chatRoom.getRecentMessages(50);
+        List<ChatMessage> messages = recentMessageCache.findRecent(chatRoomId)
+                .orElseGet(() -> loadRecentMessages(chatRoomId));
         
         return ChatHistoryResponse.builder()
                 .chatRoomId(chatRoomId)
@@ -79,36 +89,85 @@ public class ChatApplicationService {
                 .build();
     }
     
+    private List<ChatMessage> loadRecentMessages(String chatRoomId) {
+        // DB 조회 전에 세대를 읽어 두어야 조회 중 커밋된 메시지가 빠진 버퍼를 채우지 않음
+        long generation = recentMessageCache.writeGeneration(chatRoomId);
+        ensureChatRoomExists(chatRoomId);
+        
+        List<ChatMessage> messages = chatRepository.findMessagesBefore(chatRoomId, null, DEFAULT_HISTORY_SIZE);
+        recentMessageCache.fill(chatRoomId, messages, generation);
+        return messages;
+    }
+    
     /**
-     * 사용자별 채팅방 목록 조회
+     * 커서 기반 채팅 히스토리 조회
+     * - before: 커서보다 오래된 메시지, after: 커서보다 최근 메시지, 둘 다 없으면 최신 메시지
+     * - 채팅방 애그리거트를 로드하지 않고 chat_messages 인덱스로 size개만 조회
      */
-    public List<ChatRoomSummaryResponse> getUserChatRooms(String userId) {
-        List<ChatRoom> chatRooms = chatRepository.findByUserId(userId);
+    @Transactional(readOnly = true)
+    public ChatHistoryPageResponse getChatHistoryPage(String chatRoomId, String before, String after, int size) {
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("before와 after는 함께 사용할 수 없습니다");
+        }
+        ensureChatRoomExists(chatRoomId);
         
-        return chatRooms.stream()
-                .map(ChatRoomSummaryResponse::from)
-                .toList();
+        int limit = Math.max(1, Math.min(size, MAX_HISTORY_SIZE));
+        boolean forward = after != null;
+        
+        // 한 개 더 조회하여 다음 페이지 존재 여부 판단
+        List<ChatMessage> fetched = forward
+                ? chatRepository.findMessagesAfter(chatRoomId, MessageCursor.decode(after), limit + 1)
+                : chatRepository.findMessagesBefore(chatRoomId, before != null ? MessageCursor.decode(before) : null, limit + 1);
+        
+        boolean hasMore = fetched.size() > limit;
+        List<ChatMessage> page = !hasMore ? fetched
+                : forward ? fetched.subList(0, limit)
+                : fetched.subList(1, fetched.size());
+        
+        return ChatHistoryPageResponse.builder()
+                .chatRoomId(chatRoomId)
+                .messages(page.stream()
+                        .map(ChatMessageResponse::from)
+                        .toList())
+                .beforeCursor(page.isEmpty() ? null : MessageCursor.of(page.get(0)).encode())
+                .afterCursor(page.isEmpty() ? null : MessageCursor.of(page.get(page.size() - 1)).encode())
+                .hasMore(hasMore)
+                .build();
     }
+    
     /**
-     * 모든 채팅 메시지 조회
+     * 사용자별 채팅방 목록 조회 (chat_rooms 요약 컬럼 투영 쿼리 한 번, 대화 길이와 무관)
      */
-    public List<ChatMessage> getAllChatMessages() {
-        return chatRepository.findAllChat();
+    @Transactional(readOnly = true)
+    public List<ChatRoomSummaryResponse> getUserChatRooms(String userId, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_ROOM_PAGE_SIZE));
+        
+        return chatRepository.findSummariesByUserId(userId, Math.max(page, 0), pageSize).stream()
+                .map(ChatRoomSummaryResponse::from)
+                .toList();
+    }
+
+    private void ensureChatRoomExists(String chatRoomId) {
+        if (!chatRepository.existsById(chatRoomId)) {
+            throw new IllegalArgumentException("채팅방을 찾을 수 없습니다: " + chatRoomId);
+        }
     }
 
     /**
      * Kafka로부터 LLM 응답 수신 처리
      */
-    @KafkaListener(topics = "llm-response", groupId = "chat-service")
-    public void handleLlmResponse(Map<String, Object> responseData) {
-        messageService.saveLlmResponseFromKafka(responseData);
+    @KafkaListener(topics = "llm-response", groupId = "chat-service",
+            autoStartup = "#{!${chat.llm-result.batch.enabled:true}}")
+    public void handleLlmResponse(LlmResponseEvent responseEvent) {
+        messageService.saveLlmResponseFromKafka(responseEvent);
     }
     
     /**
      * Kafka로부터 LLM 오류 수신 처리
      */
-    @KafkaListener(topics = "llm-error", groupId = "chat-service")
-    public void handleLlmError(Map<String, Object> errorData) {
-        messageService.saveLlmErrorFromKafka(errorData);
+    @KafkaListener(topics = "llm-error", groupId = "chat-service",
+            autoStartup = "#{!${chat.llm-result.batch.enabled:true}}")
+    public void handleLlmError(LlmErrorEvent errorEvent) {
+        messageService.saveLlmErrorFromKafka(errorEvent);
     }
 } 
\ No newline at end of file
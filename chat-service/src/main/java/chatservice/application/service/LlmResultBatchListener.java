@@ -0,0 +1,89 @@
+package chatservice.application.service;
+
+import backend.jobkrchatbot.event.EventTopics;
+import backend.jobkrchatbot.event.LlmErrorEvent;
+import backend.jobkrchatbot.event.LlmResponseEvent;
+import backend.jobkrchatbot.event.VersionedEvent;
+import chatservice.domain.model.ChatMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * llm-response / llm-error 배치 수신 (chat.llm-result.batch.enabled=true일 때 레코드 단위 리스너 대신 동작)
+ * - poll 한 번에 모인 레코드(max-records 또는 max-wait 경계)를 한 트랜잭션에서 다중 행 INSERT
+ * - llm-service가 채팅방 ID를 키로 발행하므로 같은 채팅방의 결과는 같은 파티션에서 순서대로 들어옴
+ *   배치 안에서도 채팅방별 created_at을 엄격히 증가시켜 (created_at, id) 정렬 순서를 수신 순서와 맞춤
+ * - LLM_RESPONSE_COMPLETED 이벤트는 같은 트랜잭션에서 outbox에 함께 기록 (OutboxRelay가 배치로 전송)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LlmResultBatchListener {
+
+    private final MessageService messageService;
+
+    @KafkaListener(id = "llm-result-batch",
+            topics = {EventTopics.LLM_RESPONSE, EventTopics.LLM_ERROR},
+            groupId = "chat-service",
+            containerFactory = "llmResultBatchContainerFactory",
+            autoStartup = "${chat.llm-result.batch.enabled:true}")
+    public void handleLlmResults(List<ConsumerRecord<String, VersionedEvent>> records) {
+        List<ChatMessage> messages = new ArrayList<>(records.size());
+        Map<String, String> completedUserIds = new HashMap<>();
+        Map<String, LocalDateTime> lastCreatedAt = new HashMap<>();
+
+        for (ConsumerRecord<String, VersionedEvent> record : records) {
+            // 스키마 검사에 실패한 레코드는 ErrorHandlingDeserializer가 null 값으로 전달
+            VersionedEvent event = record.value();
+            String content;
+            String userId = null;
+            if (event instanceof LlmResponseEvent response) {
+                content = response.getMessage();
+                userId = response.getUserId();
+            } else if (event instanceof LlmErrorEvent error) {
+                content = MessageService.llmErrorMessage(error.getError());
+            } else {
+                log.warn("Skipping malformed LLM result: {}-{}@{}", record.topic(), record.partition(), record.offset());
+                continue;
+            }
+
+            String chatRoomId = event.getChatRoomId();
+            ChatMessage message = new ChatMessage(chatRoomId, "assistant", content);
+            message.setCreatedAt(nextCreatedAt(lastCreatedAt, chatRoomId, message.getCreatedAt()));
+            messages.add(message);
+
+            if (userId != null) {
+                completedUserIds.put(message.getId(), userId);
+            }
+        }
+
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<ChatMessage> saved = messageService.saveLlmMessages(messages, completedUserIds);
+        log.info("Saved {} LLM results in one transaction ({} records polled)", saved.size(), records.size());
+    }
+
+    /**
+     * 같은 채팅방 안에서 created_at이 앞 메시지보다 항상 크도록 보정 (같은 시각이면 1µs 뒤로)
+     */
+    private LocalDateTime nextCreatedAt(Map<String, LocalDateTime> lastCreatedAt, String chatRoomId, LocalDateTime now) {
+        LocalDateTime previous = lastCreatedAt.get(chatRoomId);
+        LocalDateTime createdAt = previous != null && !now.isAfter(previous)
+                ? previous.plus(1, ChronoUnit.MICROS)
+                : now;
+        lastCreatedAt.put(chatRoomId, createdAt);
+        return createdAt;
+    }
+}
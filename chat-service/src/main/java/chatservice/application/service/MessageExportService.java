@@ -0,0 +1,63 @@
+package chatservice.application.service;
+
+import chatservice.domain.model.ChatMessage;
+import chatservice.domain.model.MessageCursor;
+import chatservice.domain.model.MessageExportFilter;
+import chatservice.domain.port.ChatRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 채팅 메시지 NDJSON 스트리밍 추출
+ * - 읽기 전용 트랜잭션 안에서 DB 커서를 따라가며 한 줄씩 기록 (메모리 사용량 일정)
+ * - 각 줄의 cursor 값을 다음 요청의 after로 넘기면 중단된 지점부터 이어받기
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageExportService {
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final ChatRepository chatRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportMessages(MessageExportFilter filter, OutputStream out) throws IOException {
+        long exported = 0;
+        try (Stream<ChatMessage> messages = chatRepository.streamMessages(filter);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<ChatMessage> iterator = messages.iterator();
+            while (iterator.hasNext()) {
+                writeLine(generator, iterator.next());
+                if (++exported % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        log.info("Exported {} chat messages", exported);
+    }
+
+    private void writeLine(JsonGenerator generator, ChatMessage message) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", message.getId());
+        generator.writeStringField("chatRoomId", message.getChatRoomId());
+        generator.writeStringField("userId", message.getUserId());
+        generator.writeStringField("content", message.getContent());
+        generator.writeStringField("createdAt", message.getCreatedAt().toString());
+        generator.writeStringField("cursor", MessageCursor.of(message).encode());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
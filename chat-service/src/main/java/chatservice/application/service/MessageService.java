@@ -1,15 +1,20 @@
 package chatservice.application.service;
 
+import backend.jobkrchatbot.event.LlmErrorEvent;
+import backend.jobkrchatbot.event.LlmResponseEvent;
 import chatservice.domain.model.ChatMessage;
-import chatservice.domain.model.ChatRoom;
 import chatservice.domain.port.ChatRepository;
 import chatservice.domain.port.MessagePublisher;
+import chatservice.domain.port.RecentMessageCache;
 import chatservice.application.dto.SaveMessageRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -20,40 +25,74 @@ public class MessageService {
     
     private final ChatRepository chatRepository;
     private final MessagePublisher messagePublisher;
+    private final RecentMessageCache recentMessageCache;
     
     /**
-     * 사용자 메시지를 채팅방에 저장
+     * 사용자 메시지를 채팅방에 저장 (채팅방을 로드하지 않고 메시지 행만 추가)
      */
-    public ChatRoom saveUserMessage(String chatRoomId, String userId, String message) {
-        ChatRoom chatRoom = findChatRoom(chatRoomId);
-        
-        ChatMessage userMessage = new ChatMessage(chatRoomId, userId, message);
-        chatRoom.addMessage(userMessage);
-        
-        return chatRepository.save(chatRoom);
+    public ChatMessage saveUserMessage(String chatRoomId, String userId, String message) {
+        ChatMessage saved = chatRepository.appendMessage(new ChatMessage(chatRoomId, userId, message));
+        cacheAfterCommit(List.of(saved));
+        return saved;
     }
     
     /**
      * LLM 응답을 채팅방에 저장
      */
     public void saveLlmMessage(String chatRoomId, String message) {
-        ChatRoom chatRoom = findChatRoom(chatRoomId);
-        
-        ChatMessage llmMessage = new ChatMessage(chatRoomId, "assistant", message);
-        chatRoom.addMessage(llmMessage);
-        
-        chatRepository.save(chatRoom);
+        ChatMessage saved = chatRepository.appendMessage(new ChatMessage(chatRoomId, "assistant", message));
+        cacheAfterCommit(List.of(saved));
+    }
+
+    /**
+     * LLM 응답/오류 메시지 일괄 저장 (한 트랜잭션, 입력 순서대로 INSERT)
+     * - completedUserIds: 응답 메시지 ID → 사용자 ID, 저장된 응답마다 LLM_RESPONSE_COMPLETED 이벤트 발행
+     * @return 저장된 메시지 (채팅방이 없어 건너뛴 메시지 제외)
+     */
+    public List<ChatMessage> saveLlmMessages(List<ChatMessage> messages, Map<String, String> completedUserIds) {
+        List<ChatMessage> saved = chatRepository.appendMessages(messages);
+        for (ChatMessage message : saved) {
+            String userId = completedUserIds.get(message.getId());
+            if (userId != null) {
+                messagePublisher.publishChatEvent(message.getChatRoomId(), "LLM_RESPONSE_COMPLETED", userId);
+            }
+        }
+        cacheAfterCommit(saved);
+        return saved;
+    }
+
+    /**
+     * 최근 메시지 버퍼는 커밋이 확정된 뒤에만 반영 (롤백된 메시지가 캐시에 남지 않도록)
+     */
+    private void cacheAfterCommit(List<ChatMessage> messages) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentMessageCache.append(messages);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentMessageCache.append(messages);
+            }
+        });
+    }
+
+    /**
+     * LLM 오류를 채팅방에 남길 안내 문구
+     */
+    public static String llmErrorMessage(Object error) {
+        return "죄송합니다. 응답 생성 중 오류가 발생했습니다: " + error;
     }
 
     /**
      * Kafka로부터 받은 LLM 응답 저장
      */
-    public void saveLlmResponseFromKafka(Map<String, Object> responseData) {
+    public void saveLlmResponseFromKafka(LlmResponseEvent responseEvent) {
         try {
-            String chatRoomId = (String) responseData.get("chatRoomId");
-            String userId = (String) responseData.get("userId");
-            String message = (String) responseData.get("message");
-            String requestId = (String) responseData.get("requestId");
+            String chatRoomId = responseEvent.getChatRoomId();
+            String userId = responseEvent.getUserId();
+            String message = responseEvent.getMessage();
+            String requestId = responseEvent.getRequestId();
             
             log.info("Saving LLM response from Kafka: {}", requestId);
             
@@ -72,16 +111,15 @@ public class MessageService {
     /**
      * Kafka로부터 받은 LLM 오류 처리
      */
-    public void saveLlmErrorFromKafka(Map<String, Object> errorData) {
+    public void saveLlmErrorFromKafka(LlmErrorEvent errorEvent) {
         try {
-            String chatRoomId = (String) errorData.get("chatRoomId");
-            String error = (String) errorData.get("error");
-            String requestId = (String) errorData.get("requestId");
+            String chatRoomId = errorEvent.getChatRoomId();
+            String error = errorEvent.getError();
+            String requestId = errorEvent.getRequestId();
             
             log.info("Saving LLM error from Kafka: {}", requestId);
             
-            String errorMessage = "죄송합니다. 응답 생성 중 오류가 발생했습니다: " + error;
-            saveLlmMessage(chatRoomId, errorMessage);
+            saveLlmMessage(chatRoomId, llmErrorMessage(error));
             
             log.info("Saved LLM error message to chat room: {}, requestId: {}", chatRoomId, requestId);
             
@@ -89,9 +127,4 @@ public class MessageService {
             log.error("Error handling LLM error from Kafka", e);
         }
     }
-    
-    private ChatRoom findChatRoom(String chatRoomId) {
-        return chatRepository.findById(chatRoomId)
-                .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다: " + chatRoomId));
-    }
-} 
\ No newline at end of file
+}
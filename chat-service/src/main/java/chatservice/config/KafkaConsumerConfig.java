@@ -0,0 +1,41 @@
+package chatservice.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.time.Duration;
+import java.util.Properties;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+    /**
+     * llm-response / llm-error 배치 리스너 컨테이너
+     * - max-records: poll 한 번에 받는 최대 레코드 수 (배치 크기 상한)
+     * - min-bytes + max-wait: 브로커가 min-bytes만큼 쌓이거나 max-wait가 지날 때까지 응답을 미룸 (배치 시간 상한)
+     * - 배치 전체가 한 트랜잭션이므로 실패 시 배치 단위로 재전달됨
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> llmResultBatchContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${chat.llm-result.batch.max-records:500}") int maxRecords,
+            @Value("${chat.llm-result.batch.min-bytes:65536}") int minBytes,
+            @Value("${chat.llm-result.batch.max-wait:200ms}") Duration maxWait) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxRecords));
+        overrides.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, String.valueOf(minBytes));
+        overrides.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, String.valueOf(maxWait.toMillis()));
+        factory.getContainerProperties().setKafkaConsumerProperties(overrides);
+        return factory;
+    }
+}
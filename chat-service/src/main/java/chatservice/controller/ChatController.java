@@ -4,13 +4,19 @@ import chatservice.application.dto.ChatRoomResponse;
 import chatservice.application.dto.StartChatRequest;
 import chatservice.application.dto.*;
 import chatservice.application.service.ChatApplicationService;
-import chatservice.domain.model.ChatMessage;
+import chatservice.application.service.MessageExportService;
+import chatservice.domain.model.MessageCursor;
+import chatservice.domain.model.MessageExportFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -20,6 +26,7 @@ import java.util.List;
 public class ChatController {
     
     private final ChatApplicationService chatApplicationService;
+    private final MessageExportService messageExportService;
     
 
     
@@ -44,17 +51,50 @@ public class ChatController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/{chatRoomId}/messages")
+    public ResponseEntity<ChatHistoryPageResponse> getChatHistoryPage(
+            @PathVariable String chatRoomId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("Getting chat history page for room: {}", chatRoomId);
+        ChatHistoryPageResponse response = chatApplicationService.getChatHistoryPage(chatRoomId, before, after, size);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/user/{userId}/rooms")
-    public ResponseEntity<List<ChatRoomSummaryResponse>> getUserChatRooms(@PathVariable String userId) {
+    public ResponseEntity<List<ChatRoomSummaryResponse>> getUserChatRooms(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
         log.info("Getting chat rooms for user: {}", userId);
-        List<ChatRoomSummaryResponse> response = chatApplicationService.getUserChatRooms(userId);
+        List<ChatRoomSummaryResponse> response = chatApplicationService.getUserChatRooms(userId, page, size);
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping("/all/messages")
-    public ResponseEntity<List<ChatMessage>> getAllChatMessages() {
-        log.info("Getting all chat messages");
-        List<ChatMessage> response = chatApplicationService.getAllChatMessages();
-        return ResponseEntity.ok(response);
+    /**
+     * 전체 채팅 메시지 NDJSON 스트리밍 추출
+     * - from/to: 작성 시각 범위, userId: 채팅방 소유자, after: 이어받을 커서, limit: 최대 메시지 수
+     */
+    @GetMapping(value = "/all/messages", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportChatMessages(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Exporting chat messages - from: {}, to: {}, userId: {}, after: {}", from, to, userId, after);
+        MessageExportFilter filter = MessageExportFilter.builder()
+                .from(from)
+                .to(to)
+                .userId(userId)
+                .after(after != null ? MessageCursor.decode(after) : null)
+                .limit(limit)
+                .build();
+        
+        StreamingResponseBody body = out -> messageExportService.exportMessages(filter, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 } 
\ No newline at end of file
@@ -1,9 +1,15 @@
 package chatservice.domain.model;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -14,8 +20,13 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "chat_messages")
-public class ChatMessage {
+@Table(name = "chat_messages", indexes = {
+    // 채팅방별 keyset 페이지네이션 (created_at, id 순)
+    @Index(name = "idx_chat_messages_room_created_id", columnList = "chat_room_id, created_at, id"),
+    // 전체 메시지 추출 (created_at, id 순 이어받기)
+    @Index(name = "idx_chat_messages_created_id", columnList = "created_at, id")
+})
+public class ChatMessage implements Persistable<String> {
     
     @Id
     @Column(name = "id")
@@ -37,6 +48,15 @@ public class ChatMessage {
     @JoinColumn(name = "chat_room_id", insertable = false, updatable = false)
     private ChatRoom chatRoom;
     
+    // 메시지는 추가만 하므로 새 인스턴스는 merge(SELECT) 없이 바로 persist(INSERT)
+    // 영속 상태 표시일 뿐이므로 equals/hashCode/toString에서 제외 (저장 전후 같은 메시지가 달라 보이지 않도록)
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted;
+    
     public ChatMessage(String chatRoomId, String userId, String content) {
         this.id = UUID.randomUUID().toString();
         this.chatRoomId = chatRoomId;
@@ -44,4 +64,15 @@ public class ChatMessage {
         this.content = content;
         this.createdAt = LocalDateTime.now();
     }
+    
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+    
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        this.persisted = true;
+    }
 } 
\ No newline at end of file
@@ -16,9 +16,13 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "chat_rooms")
+@Table(name = "chat_rooms", indexes = {
+    @Index(name = "idx_chat_rooms_user_created", columnList = "user_id, created_at")
+})
 public class ChatRoom {
     
+    public static final int PREVIEW_LENGTH = 100;
+    
     @Id
     @Column(name = "id")
     private String id;
@@ -29,6 +33,16 @@ public class ChatRoom {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
+    // 목록 조회용 비정규화 요약 (메시지 추가 시 같은 트랜잭션에서 원자적으로 갱신)
+    @Column(name = "message_count", nullable = false, columnDefinition = "integer default 0 not null")
+    private int messageCount;
+    
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+    
+    @Column(name = "last_message_preview", length = PREVIEW_LENGTH)
+    private String lastMessagePreview;
+    
     @OneToMany(mappedBy = "chatRoom", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<ChatMessage> messages;
     
@@ -47,8 +61,15 @@ public class ChatRoom {
         messages.add(message);
     }
     
-    public int getMessageCount() {
-        return messages != null ? messages.size() : 0;
+    public static String preview(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        int end = PREVIEW_LENGTH;
+        if (Character.isHighSurrogate(content.charAt(end - 1))) {
+            end--;
+        }
+        return content.substring(0, end);
     }
     
     public List<ChatMessage> getRecentMessages(int count) {
@@ -0,0 +1,20 @@
+package chatservice.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅방 목록 조회용 읽기 모델 (chat_rooms 한 행에서 바로 투영, 메시지 컬렉션을 로드하지 않음)
+ */
+@Getter
+@AllArgsConstructor
+public class ChatRoomSummary {
+    private final String id;
+    private final String userId;
+    private final LocalDateTime createdAt;
+    private final int messageCount;
+    private final LocalDateTime lastMessageAt;
+    private final String lastMessagePreview;
+}
@@ -0,0 +1,23 @@
+package chatservice.domain.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메시지 일괄 추출 조건 (모두 선택)
+ * - from(포함) ~ to(제외): 메시지 작성 시각 범위
+ * - userId: 채팅방 소유 사용자
+ * - after: 이전 추출에서 마지막으로 받은 메시지의 커서 (이어받기)
+ * - limit: 이번 요청에서 내보낼 최대 메시지 수
+ */
+@Getter
+@Builder
+public class MessageExportFilter {
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final String userId;
+    private final MessageCursor after;
+    private final Integer limit;
+}
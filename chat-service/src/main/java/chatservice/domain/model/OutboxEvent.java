@@ -0,0 +1,57 @@
+package chatservice.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 트랜잭션 아웃박스 행 (비즈니스 변경과 같은 트랜잭션에서 INSERT, OutboxRelay가 Kafka로 전송 후 삭제)
+ * - payload: 이미 인코딩된 이벤트 값 (event-contract 코덱), 릴레이는 바이트를 그대로 전송
+ * - id 시퀀스는 allocationSize 단위로 미리 할당하여 INSERT를 JDBC 배치로 묶음
+ *   (노드별로 블록을 미리 받으므로 id 순서는 커밋 순서가 아님, 전송 순서는 room_seq 기준)
+ * - room_seq: 같은 message_key(채팅방) 안에서 커밋 순서대로 1씩 증가 (OutboxRoomSequence)
+ *   적용 전에 쌓인 행은 null (0으로 보고 먼저 전송)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_events_key_seq", columnList = "message_key, room_seq")
+})
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+    
+    @Column(name = "topic", nullable = false)
+    private String topic;
+    
+    @Column(name = "message_key", nullable = false)
+    private String messageKey;
+    
+    @Column(name = "room_seq")
+    private Long roomSeq;
+    
+    @Column(name = "payload", nullable = false)
+    private byte[] payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    public OutboxEvent(String topic, String messageKey, long roomSeq, byte[] payload) {
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.roomSeq = roomSeq;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+}
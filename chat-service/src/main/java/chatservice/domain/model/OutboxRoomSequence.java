@@ -0,0 +1,27 @@
+package chatservice.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+
+/**
+ * 채팅방(아웃박스 message_key)별 아웃박스 순번
+ * - OutboxMessagePublisher가 아웃박스 INSERT와 같은 트랜잭션에서 upsert로 증가 (SpringDataOutboxRepository.nextRoomSeq)
+ * - 행 잠금이 커밋까지 유지되어 같은 채팅방의 순번은 커밋 순서와 같고, 롤백되면 순번도 함께 되돌아가 빈 번호가 없음
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_room_seq")
+public class OutboxRoomSequence {
+    
+    @Id
+    @Column(name = "message_key")
+    private String messageKey;
+    
+    @Column(name = "seq", nullable = false)
+    private long seq;
+}
@@ -2,13 +2,32 @@ package chatservice.domain.port;
 
 import chatservice.domain.model.ChatMessage;
 import chatservice.domain.model.ChatRoom;
+import chatservice.domain.model.ChatRoomSummary;
+import chatservice.domain.model.MessageCursor;
+import chatservice.domain.model.MessageExportFilter;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ChatRepository {
     ChatRoom save(ChatRoom chatRoom);
     Optional<ChatRoom> findById(String id);
     List<ChatRoom> findByUserId(String userId);
+    boolean existsById(String id);
+    List<ChatRoomSummary> findSummariesByUserId(String userId, int page, int size);
 
-    List<ChatMessage> findAllChat();
+    // 채팅방 애그리거트를 로드하지 않고 메시지 한 행 추가 + 채팅방 요약 갱신 (채팅방이 없으면 IllegalArgumentException)
+    ChatMessage appendMessage(ChatMessage message);
+
+    // 여러 메시지를 한 트랜잭션에서 일괄 추가 (입력 순서대로 INSERT, 없는 채팅방의 메시지는 제외하고 저장된 것만 반환)
+    List<ChatMessage> appendMessages(List<ChatMessage> messages);
+
+    // 커서 이전(더 오래된) 메시지 최대 limit개, 시간순 (커서가 없으면 최신 메시지)
+    List<ChatMessage> findMessagesBefore(String chatRoomId, MessageCursor before, int limit);
+
+    // 커서 이후(더 최근) 메시지 최대 limit개, 시간순
+    List<ChatMessage> findMessagesAfter(String chatRoomId, MessageCursor after, int limit);
+
+    // 조건에 맞는 메시지를 (created_at, id) 순으로 스트리밍 (읽기 전용 트랜잭션 안에서 사용 후 close)
+    Stream<ChatMessage> streamMessages(MessageExportFilter filter);
 } 
\ No newline at end of file
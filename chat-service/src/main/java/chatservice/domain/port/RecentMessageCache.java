@@ -0,0 +1,25 @@
+package chatservice.domain.port;
+
+import chatservice.domain.model.ChatMessage;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 채팅방별 최근 메시지 링 버퍼 (DB 앞단 캐시)
+ * - 캐시 오류는 미스로 처리하며 호출자는 DB로 대체 조회
+ */
+public interface RecentMessageCache {
+
+    // 최근 메시지 시간순 조회 (버퍼가 없으면 empty, 메시지 없는 채팅방은 빈 리스트)
+    Optional<List<ChatMessage>> findRecent(String chatRoomId);
+
+    // 미스 후 DB 조회 직전에 읽는 쓰기 세대 (fill 시 그 사이 쓰기가 있었는지 확인)
+    long writeGeneration(String chatRoomId);
+
+    // DB에서 읽은 최근 메시지로 버퍼 채움 (generation 이후 쓰기가 있었으면 채우지 않음)
+    void fill(String chatRoomId, List<ChatMessage> messages, long generation);
+
+    // 커밋된 메시지를 버퍼에 반영 (버퍼가 있는 채팅방만 추가하고 모든 채팅방의 쓰기 세대 증가)
+    void append(List<ChatMessage> messages);
+}
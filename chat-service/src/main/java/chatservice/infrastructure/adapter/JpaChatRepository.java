@@ -2,20 +2,37 @@ package chatservice.infrastructure.adapter;
 
 import chatservice.domain.model.ChatMessage;
 import chatservice.domain.model.ChatRoom;
+import chatservice.domain.model.ChatRoomSummary;
+import chatservice.domain.model.MessageCursor;
+import chatservice.domain.model.MessageExportFilter;
 import chatservice.domain.port.ChatRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 @Slf4j
 @Repository
 @RequiredArgsConstructor
 public class JpaChatRepository implements ChatRepository {
     
+    private static final int EXPORT_FETCH_SIZE = 500;
+    
     private final SpringDataChatRepository chatRepository;
+    private final SpringDataChatMessageRepository messageRepository;
+    private final EntityManager entityManager;
     
     @Override
     public ChatRoom save(ChatRoom chatRoom) {
@@ -35,12 +52,133 @@ public class JpaChatRepository implements ChatRepository {
     }
 
     @Override
-    public List<ChatMessage> findAllChat() {
-        List<ChatRoom> allChatRooms = chatRepository.findAll();
-        
-        return allChatRooms.stream()
-                .filter(chatRoom -> chatRoom.getMessages() != null)
-                .flatMap(chatRoom -> chatRoom.getMessages().stream())
-                .toList();
+    public boolean existsById(String id) {
+        return chatRepository.existsById(id);
+    }
+
+    @Override
+    public List<ChatRoomSummary> findSummariesByUserId(String userId, int page, int size) {
+        return chatRepository.findSummariesByUserId(userId, PageRequest.of(page, size));
+    }
+
+    /**
+     * 요약 UPDATE의 영향 행 수로 채팅방 존재를 확인한 뒤 INSERT (chat_room_id FK가 최종 보장)
+     */
+    @Override
+    public ChatMessage appendMessage(ChatMessage message) {
+        int updated = chatRepository.recordMessageAppended(
+                message.getChatRoomId(),
+                1,
+                message.getCreatedAt(),
+                ChatRoom.preview(message.getContent())
+        );
+        if (updated == 0) {
+            throw new IllegalArgumentException("채팅방을 찾을 수 없습니다: " + message.getChatRoomId());
+        }
+        return messageRepository.save(message);
+    }
+
+    /**
+     * 여러 채팅방의 메시지를 한 번에 추가
+     * - 채팅방마다 요약 UPDATE 한 번 (채팅방 ID 순으로 잠가 동시 배치 간 교착 방지)
+     * - 메시지 INSERT는 JDBC 배치로 전송 (reWriteBatchedInserts로 다중 행 INSERT가 됨)
+     * - 없는 채팅방의 메시지는 건너뛰고 로그만 남김
+     */
+    @Override
+    public List<ChatMessage> appendMessages(List<ChatMessage> messages) {
+        Map<String, List<ChatMessage>> byRoom = new TreeMap<>();
+        for (ChatMessage message : messages) {
+            byRoom.computeIfAbsent(message.getChatRoomId(), id -> new ArrayList<>()).add(message);
+        }
+
+        Set<String> missingRooms = new HashSet<>();
+        for (Map.Entry<String, List<ChatMessage>> entry : byRoom.entrySet()) {
+            List<ChatMessage> roomMessages = entry.getValue();
+            ChatMessage last = roomMessages.get(roomMessages.size() - 1);
+            int updated = chatRepository.recordMessageAppended(
+                    entry.getKey(),
+                    roomMessages.size(),
+                    last.getCreatedAt(),
+                    ChatRoom.preview(last.getContent())
+            );
+            if (updated == 0) {
+                log.warn("Chat room not found, skipping {} messages: {}", roomMessages.size(), entry.getKey());
+                missingRooms.add(entry.getKey());
+            }
+        }
+
+        List<ChatMessage> toSave = missingRooms.isEmpty()
+                ? messages
+                : messages.stream().filter(message -> !missingRooms.contains(message.getChatRoomId())).toList();
+        return messageRepository.saveAll(toSave);
+    }
+
+    @Override
+    public List<ChatMessage> findMessagesBefore(String chatRoomId, MessageCursor before, int limit) {
+        PageRequest page = PageRequest.ofSize(limit);
+        List<ChatMessage> newestFirst = before == null
+                ? messageRepository.findLatest(chatRoomId, page)
+                : messageRepository.findBefore(chatRoomId, before.getCreatedAt(), before.getId(), page);
+
+        List<ChatMessage> messages = new ArrayList<>(newestFirst);
+        Collections.reverse(messages);
+        return messages;
+    }
+
+    @Override
+    public List<ChatMessage> findMessagesAfter(String chatRoomId, MessageCursor after, int limit) {
+        return messageRepository.findAfter(chatRoomId, after.getCreatedAt(), after.getId(), PageRequest.ofSize(limit));
+    }
+
+    /**
+     * JDBC fetch size 단위로 커서를 읽어 스트리밍 (전체를 메모리에 올리지 않음)
+     * - 읽은 엔티티는 바로 영속성 컨텍스트에서 분리하여 메모리 사용량을 일정하게 유지
+     */
+    @Override
+    public Stream<ChatMessage> streamMessages(MessageExportFilter filter) {
+        StringBuilder jpql = new StringBuilder("select m from ChatMessage m");
+        if (filter.getUserId() != null) {
+            jpql.append(" join ChatRoom r on r.id = m.chatRoomId");
+        }
+        jpql.append(" where 1 = 1");
+        if (filter.getFrom() != null) {
+            jpql.append(" and m.createdAt >= :from");
+        }
+        if (filter.getTo() != null) {
+            jpql.append(" and m.createdAt < :to");
+        }
+        if (filter.getUserId() != null) {
+            jpql.append(" and r.userId = :userId");
+        }
+        if (filter.getAfter() != null) {
+            jpql.append(" and (m.createdAt > :cursorAt or (m.createdAt = :cursorAt and m.id > :cursorId))");
+        }
+        jpql.append(" order by m.createdAt asc, m.id asc");
+
+        TypedQuery<ChatMessage> query = entityManager.createQuery(jpql.toString(), ChatMessage.class)
+                .setHint("org.hibernate.fetchSize", EXPORT_FETCH_SIZE)
+                .setHint("org.hibernate.readOnly", true);
+        if (filter.getFrom() != null) {
+            query.setParameter("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            query.setParameter("to", filter.getTo());
+        }
+        if (filter.getUserId() != null) {
+            query.setParameter("userId", filter.getUserId());
+        }
+        if (filter.getAfter() != null) {
+            query.setParameter("cursorAt", filter.getAfter().getCreatedAt());
+            query.setParameter("cursorId", filter.getAfter().getId());
+        }
+        if (filter.getLimit() != null) {
+            query.setMaxResults(filter.getLimit());
+        }
+
+        return query.getResultStream()
+                .map(message -> {
+                    entityManager.detach(message);
+                    return message;
+                });
     }
 }
@@ -1,36 +1,36 @@
 package chatservice.infrastructure.adapter;
 
+import backend.jobkrchatbot.event.ChatEvent;
+import backend.jobkrchatbot.event.EventTopics;
+import backend.jobkrchatbot.event.LlmRequestEvent;
 import chatservice.domain.port.MessagePublisher;
 import chatservice.infrastructure.client.dto.LlmRequest;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Map;
-
+/**
+ * Kafka 직접 발행 (chat.outbox.enabled=false일 때만 사용)
+ * - 트랜잭션 안에서 호출되면 커밋 후에 전송 (롤백된 변경에 대한 이벤트는 보내지 않음, 커밋 후 전송 실패는 유실)
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.outbox.enabled", havingValue = "false")
 public class KafkaMessagePublisher implements MessagePublisher {
     
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
-    private static final String CHAT_EVENTS_TOPIC = "chat-events";
     private static final String USER_MESSAGES_TOPIC = "user-messages";
-    private static final String LLM_REQUESTS_TOPIC = "llm-request";
     
     @Override
     public void publishChatEvent(String chatRoomId, String eventType, String userId) {
-        Map<String, Object> eventData = Map.of(
-            "chatRoomId", chatRoomId,
-            "eventType", eventType,
-            "userId", userId
-        );
-        
-        kafkaTemplate.send(CHAT_EVENTS_TOPIC, chatRoomId, eventData);
+        ChatEvent event = ChatEvent.of(chatRoomId, eventType, userId);
+        afterCommit(() -> kafkaTemplate.send(EventTopics.CHAT_EVENTS, chatRoomId, event));
         log.info("Chat event published: {} for chat room: {}", eventType, chatRoomId);
     }
 
@@ -38,18 +38,31 @@ public class KafkaMessagePublisher implements MessagePublisher {
     @Override
     public void publishLlmRequest(LlmRequest llmRequest) {
         try {
-            // MSA 원칙: 단순 JSON 문자열로 직렬화하여 서비스 간 독립성 보장
-            Map<String, Object> requestData = Map.of(
-                "chatRoomId", llmRequest.getChatRoomId(),
-                "userId", llmRequest.getUserId(),
-                "userMessage", llmRequest.getUserMessage(),
-                "requestId", llmRequest.getRequestId()
+            // MSA 원칙: 공유 이벤트 계약(event-contract)만으로 서비스 간 독립성 보장
+            LlmRequestEvent requestEvent = LlmRequestEvent.of(
+                llmRequest.getChatRoomId(),
+                llmRequest.getUserId(),
+                llmRequest.getUserMessage(),
+                llmRequest.getRequestId()
             );
             
-            kafkaTemplate.send(LLM_REQUESTS_TOPIC, llmRequest.getChatRoomId(), requestData);
+            afterCommit(() -> kafkaTemplate.send(EventTopics.LLM_REQUEST, llmRequest.getChatRoomId(), requestEvent));
             log.info("LLM request published to Kafka: {}", llmRequest.getRequestId());
         } catch (Exception e) {
             log.error("Failed to publish LLM request: {}", llmRequest.getRequestId(), e);
         }
     }
+
+    private void afterCommit(Runnable send) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send.run();
+            }
+        });
+    }
 }
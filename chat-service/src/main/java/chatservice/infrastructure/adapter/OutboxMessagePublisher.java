@@ -0,0 +1,62 @@
+package chatservice.infrastructure.adapter;
+
+import backend.jobkrchatbot.event.ChatEvent;
+import backend.jobkrchatbot.event.EventCodec;
+import backend.jobkrchatbot.event.EventTopics;
+import backend.jobkrchatbot.event.LlmRequestEvent;
+import backend.jobkrchatbot.event.VersionedEvent;
+import chatservice.domain.model.OutboxEvent;
+import chatservice.domain.port.MessagePublisher;
+import chatservice.infrastructure.client.dto.LlmRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+
+/**
+ * 이벤트를 호출자 트랜잭션 안에서 outbox_events에 기록 (Kafka 전송은 OutboxRelay가 비동기로 수행)
+ * - DB 커밋과 이벤트 발행이 함께 성공하거나 함께 롤백됨
+ * - 요청 스레드에서 Kafka 지연이 빠짐
+ * - 채팅방별 순번(room_seq)을 같은 트랜잭션에서 받아 기록 (릴레이는 이 순번 순서로 전송)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxMessagePublisher implements MessagePublisher {
+    
+    private final SpringDataOutboxRepository outboxRepository;
+    private final EventCodec codec;
+    
+    public OutboxMessagePublisher(SpringDataOutboxRepository outboxRepository,
+                                  @Value("${spring.kafka.producer.properties.event.codec.format:smile}") String format) {
+        this.outboxRepository = outboxRepository;
+        this.codec = new EventCodec(EventCodec.Format.valueOf(format.toUpperCase(Locale.ROOT)));
+    }
+    
+    @Override
+    @Transactional
+    public void publishChatEvent(String chatRoomId, String eventType, String userId) {
+        append(EventTopics.CHAT_EVENTS, chatRoomId, ChatEvent.of(chatRoomId, eventType, userId));
+        log.debug("Chat event queued in outbox: {} for chat room: {}", eventType, chatRoomId);
+    }
+    
+    @Override
+    @Transactional
+    public void publishLlmRequest(LlmRequest llmRequest) {
+        append(EventTopics.LLM_REQUEST, llmRequest.getChatRoomId(), LlmRequestEvent.of(
+            llmRequest.getChatRoomId(),
+            llmRequest.getUserId(),
+            llmRequest.getUserMessage(),
+            llmRequest.getRequestId()
+        ));
+        log.debug("LLM request queued in outbox: {}", llmRequest.getRequestId());
+    }
+    
+    private void append(String topic, String key, VersionedEvent event) {
+        long roomSeq = outboxRepository.nextRoomSeq(key);
+        outboxRepository.save(new OutboxEvent(topic, key, roomSeq, codec.encode(event)));
+    }
+}
@@ -0,0 +1,131 @@
+package chatservice.infrastructure.adapter;
+
+import chatservice.domain.model.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * outbox_events → Kafka 배치 릴레이 (at-least-once)
+ * - 한 트랜잭션에서 batch-size개(+ 고른 채팅방의 앞선 순번 행)를 FOR UPDATE SKIP LOCKED로 잠그고,
+ *   채팅방 ID 키로 room_seq 순서대로 전송한 뒤 ack를 모두 받으면 삭제
+ *   전송이 하나라도 실패하면 롤백 → 다음 주기에 배치 전체 재전송 (컨슈머는 requestId 등으로 중복 처리)
+ * - advisory lock으로 한 번에 한 노드만 릴레이 (여러 노드가 나눠 보내면 같은 채팅방 이벤트 순서가 섞임)
+ * - 이미 인코딩된 payload를 그대로 보내는 전용 프로듀서 (spring.kafka.producer의 압축/배치 설정 공유)
+ * - 가득 찬 배치를 보냈으면 쉬지 않고 다음 배치 (max-batches-per-run까지)
+ *
+ * 메트릭
+ * - chat.outbox.relayed: Kafka로 전송 후 삭제한 행 수
+ * - chat.outbox.failures: 전송 실패로 롤백된 배치 수
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L; // "outbox"
+    
+    private final SpringDataOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DefaultKafkaProducerFactory<String, byte[]> producerFactory;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long sendTimeoutMillis;
+    
+    private final Counter relayed;
+    private final Counter failures;
+    
+    public OutboxRelay(SpringDataOutboxRepository outboxRepository,
+                       PlatformTransactionManager transactionManager,
+                       KafkaProperties kafkaProperties,
+                       MeterRegistry meterRegistry,
+                       @Value("${chat.outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${chat.outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun,
+                       @Value("${chat.outbox.relay.send-timeout:10s}") Duration sendTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.producerFactory = new DefaultKafkaProducerFactory<>(
+            kafkaProperties.buildProducerProperties(null), new StringSerializer(), new ByteArraySerializer());
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.sendTimeoutMillis = sendTimeout.toMillis();
+        
+        this.relayed = Counter.builder("chat.outbox.relayed")
+            .description("Outbox rows sent to Kafka and deleted")
+            .register(meterRegistry);
+        this.failures = Counter.builder("chat.outbox.failures")
+            .description("Outbox batches rolled back after a send failure")
+            .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${chat.outbox.relay.interval-ms:100}")
+    public void relay() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                Integer sent = transactionTemplate.execute(status -> relayBatch());
+                if (sent == null || sent < batchSize) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Outbox relay failed, will retry on next run", e);
+        }
+    }
+    
+    private int relayBatch() {
+        if (!outboxRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return 0;
+        }
+        List<OutboxEvent> batch = outboxRepository.lockBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(kafkaTemplate.send(event.getTopic(), event.getMessageKey(), event.getPayload()));
+        }
+        kafkaTemplate.flush();
+        
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failures.increment();
+            throw new IllegalStateException("Outbox relay interrupted", e);
+        } catch (Exception e) {
+            failures.increment();
+            throw new IllegalStateException("Outbox batch send failed, rolling back for retry", e);
+        }
+        
+        outboxRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+        relayed.increment(batch.size());
+        return batch.size();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        producerFactory.destroy();
+    }
+}
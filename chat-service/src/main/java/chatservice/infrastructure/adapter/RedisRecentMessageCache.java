@@ -0,0 +1,240 @@
+package chatservice.infrastructure.adapter;
+
+import chatservice.domain.model.ChatMessage;
+import chatservice.domain.port.RecentMessageCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 채팅방별 최근 메시지 링 버퍼 (Redis sorted set)
+ * - chat:recent:{roomId}:ring : score = created_at(µs), member = id␟userId␟content
+ *   score 순 정렬이라 커밋 순서와 반영 순서가 달라도 (created_at, id) 순서가 유지됨
+ *   빈 채팅방도 적재 상태를 표시하도록 score -inf의 빈 member를 표식으로 둠
+ * - chat:recent:{roomId}:gen  : 쓰기 세대 (메시지가 커밋될 때마다 증가)
+ *
+ * 일관성 규칙
+ * - 쓰기: 커밋 후 버퍼가 있을 때만 추가 (없으면 다음 조회가 DB에서 채움), 실패 시 버퍼 삭제
+ * - 채움: DB 조회 전에 읽은 세대가 그대로일 때만 저장 (조회 중 커밋된 메시지가 빠진 버퍼 방지)
+ * - 조회/쓰기 때마다 TTL 연장, 유휴 채팅방은 ttl 후 만료
+ *
+ * 메트릭
+ * - chat.history.cache.lookups{result=hit|miss|error}
+ */
+@Slf4j
+@Component
+public class RedisRecentMessageCache implements RecentMessageCache {
+
+    private static final String KEY_PREFIX = "chat:recent:{";
+    private static final String RING_SUFFIX = "}:ring";
+    private static final String GENERATION_SUFFIX = "}:gen";
+    private static final String SEPARATOR = "\u001F";
+    private static final String LOADED_MARKER = "";
+
+    // 버퍼 전체 조회 + TTL 연장
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>("""
+            local entries = redis.call('ZRANGE', KEYS[1], 0, -1, 'WITHSCORES')
+            if #entries > 0 then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end
+            return entries
+            """, List.class);
+
+    // 세대 증가 후, 버퍼가 있으면 추가하고 표식(rank 0)을 제외한 가장 오래된 항목부터 잘라냄
+    private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('PEXPIRE', KEYS[2], ARGV[2])
+            if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+            for i = 3, #ARGV, 2 do redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1]) end
+            local excess = redis.call('ZCARD', KEYS[1]) - 1 - tonumber(ARGV[1])
+            if excess > 0 then redis.call('ZREMRANGEBYRANK', KEYS[1], 1, excess) end
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    // 세대가 DB 조회 전과 같을 때만 버퍼 교체
+    private static final RedisScript<Long> FILL_SCRIPT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end
+            redis.call('DEL', KEYS[1])
+            redis.call('ZADD', KEYS[1], '-inf', '')
+            for i = 3, #ARGV, 2 do redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1]) end
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final int capacity;
+    private final String ttlMillis;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+
+    public RedisRecentMessageCache(StringRedisTemplate redisTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${chat.history.cache.enabled:true}") boolean enabled,
+                                   @Value("${chat.history.cache.capacity:50}") int capacity,
+                                   @Value("${chat.history.cache.ttl:30m}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.ttlMillis = String.valueOf(ttl.toMillis());
+
+        this.hits = lookups(meterRegistry, "hit");
+        this.misses = lookups(meterRegistry, "miss");
+        this.errors = lookups(meterRegistry, "error");
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("chat.history.cache.lookups")
+            .description("Recent message buffer lookups")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<List<ChatMessage>> findRecent(String chatRoomId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            List<Object> entries = redisTemplate.execute(READ_SCRIPT, List.of(ringKey(chatRoomId)), ttlMillis);
+            if (entries == null || entries.isEmpty()) {
+                misses.increment();
+                return Optional.empty();
+            }
+
+            List<ChatMessage> messages = new ArrayList<>(entries.size() / 2);
+            for (int i = 0; i + 1 < entries.size(); i += 2) {
+                String member = (String) entries.get(i);
+                if (!LOADED_MARKER.equals(member)) {
+                    messages.add(decode(chatRoomId, member, (String) entries.get(i + 1)));
+                }
+            }
+            hits.increment();
+            return Optional.of(messages);
+        } catch (Exception e) {
+            errors.increment();
+            log.warn("Failed to read recent messages from cache: {}", chatRoomId, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public long writeGeneration(String chatRoomId) {
+        if (!enabled) {
+            return -1;
+        }
+        try {
+            String generation = redisTemplate.opsForValue().get(generationKey(chatRoomId));
+            return generation == null ? 0 : Long.parseLong(generation);
+        } catch (Exception e) {
+            log.warn("Failed to read recent message generation: {}", chatRoomId, e);
+            return -1;
+        }
+    }
+
+    @Override
+    public void fill(String chatRoomId, List<ChatMessage> messages, long generation) {
+        if (!enabled || generation < 0) {
+            return;
+        }
+        List<ChatMessage> latest = messages.subList(Math.max(0, messages.size() - capacity), messages.size());
+        List<String> args = new ArrayList<>(2 + latest.size() * 2);
+        args.add(String.valueOf(generation));
+        args.add(ttlMillis);
+        addEntries(args, latest);
+        try {
+            Long stored = redisTemplate.execute(FILL_SCRIPT,
+                    List.of(ringKey(chatRoomId), generationKey(chatRoomId)), args.toArray());
+            if (stored == null || stored == 0) {
+                log.debug("Skipped stale recent message fill: {}", chatRoomId);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to fill recent message cache: {}", chatRoomId, e);
+        }
+    }
+
+    @Override
+    public void append(List<ChatMessage> messages) {
+        if (!enabled || messages.isEmpty()) {
+            return;
+        }
+        Map<String, List<ChatMessage>> byRoom = new LinkedHashMap<>();
+        for (ChatMessage message : messages) {
+            byRoom.computeIfAbsent(message.getChatRoomId(), id -> new ArrayList<>()).add(message);
+        }
+
+        for (Map.Entry<String, List<ChatMessage>> entry : byRoom.entrySet()) {
+            String chatRoomId = entry.getKey();
+            List<String> args = new ArrayList<>(2 + entry.getValue().size() * 2);
+            args.add(String.valueOf(capacity));
+            args.add(ttlMillis);
+            addEntries(args, entry.getValue());
+            try {
+                redisTemplate.execute(APPEND_SCRIPT,
+                        List.of(ringKey(chatRoomId), generationKey(chatRoomId)), args.toArray());
+            } catch (Exception e) {
+                log.warn("Failed to append to recent message cache, evicting: {}", chatRoomId, e);
+                evict(chatRoomId);
+            }
+        }
+    }
+
+    private void evict(String chatRoomId) {
+        try {
+            redisTemplate.delete(ringKey(chatRoomId));
+        } catch (Exception e) {
+            log.warn("Failed to evict recent message cache: {}", chatRoomId, e);
+        }
+    }
+
+    private static void addEntries(List<String> args, List<ChatMessage> messages) {
+        for (ChatMessage message : messages) {
+            args.add(String.valueOf(toMicros(message.getCreatedAt())));
+            args.add(message.getId() + SEPARATOR + message.getUserId() + SEPARATOR + message.getContent());
+        }
+    }
+
+    private static ChatMessage decode(String chatRoomId, String member, String score) {
+        String[] parts = member.split(SEPARATOR, 3);
+        return ChatMessage.builder()
+                .id(parts[0])
+                .chatRoomId(chatRoomId)
+                .userId(parts[1])
+                .content(parts[2])
+                .createdAt(fromMicros((long) Double.parseDouble(score)))
+                .build();
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static String ringKey(String chatRoomId) {
+        return KEY_PREFIX + chatRoomId + RING_SUFFIX;
+    }
+
+    private static String generationKey(String chatRoomId) {
+        return KEY_PREFIX + chatRoomId + GENERATION_SUFFIX;
+    }
+}
@@ -0,0 +1,53 @@
+package chatservice.infrastructure.adapter;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * chat_rooms 요약 컬럼(message_count / last_message_at / last_message_preview) 백필
+ * - 컬럼 추가 이전에 메시지가 쌓인 채팅방을 시작 시 채움 (별도 수동 SQL 실행 없이 배포만으로 적용)
+ * - 빈 초기화 단계에서 실행되어 이 노드의 HTTP/Kafka 리스너가 시작되기 전에 끝남
+ * - batch-size개씩 잠그고 채우는 트랜잭션을 반복, 채울 행이 없으면 잠금 조회 한 번으로 끝남
+ * - 여러 노드가 동시에 시작해도 행 잠금으로 같은 채팅방을 두 번 계산하지 않음
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.room-summary.backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomSummaryBackfill {
+    
+    private final SpringDataChatRepository chatRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    
+    public RoomSummaryBackfill(SpringDataChatRepository chatRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${chat.room-summary.backfill.batch-size:500}") int batchSize) {
+        this.chatRepository = chatRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+    
+    @PostConstruct
+    public void backfill() {
+        int total = 0;
+        int filled;
+        do {
+            filled = transactionTemplate.execute(status -> {
+                List<String> ids = chatRepository.lockUnsummarizedRooms(batchSize);
+                return ids.isEmpty() ? 0 : chatRepository.backfillSummaries(ids);
+            });
+            total += filled;
+        } while (filled > 0);
+        
+        if (total > 0) {
+            log.info("채팅방 요약 컬럼 백필 완료 - {}개 채팅방", total);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package chatservice.infrastructure.adapter;
+
+import chatservice.domain.model.ChatMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * chat_messages 직접 조회 (ChatRoom 애그리거트를 거치지 않음)
+ * - (chat_room_id, created_at, id) 인덱스를 타는 keyset 조회
+ */
+@Repository
+public interface SpringDataChatMessageRepository extends JpaRepository<ChatMessage, String> {
+
+    @Query("""
+            select m from ChatMessage m
+            where m.chatRoomId = :chatRoomId
+            order by m.createdAt desc, m.id desc
+            """)
+    List<ChatMessage> findLatest(@Param("chatRoomId") String chatRoomId, Pageable pageable);
+
+    @Query("""
+            select m from ChatMessage m
+            where m.chatRoomId = :chatRoomId
+              and (m.createdAt < :createdAt or (m.createdAt = :createdAt and m.id < :id))
+            order by m.createdAt desc, m.id desc
+            """)
+    List<ChatMessage> findBefore(@Param("chatRoomId") String chatRoomId,
+                                 @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") String id,
+                                 Pageable pageable);
+
+    @Query("""
+            select m from ChatMessage m
+            where m.chatRoomId = :chatRoomId
+              and (m.createdAt > :createdAt or (m.createdAt = :createdAt and m.id > :id))
+            order by m.createdAt asc, m.id asc
+            """)
+    List<ChatMessage> findAfter(@Param("chatRoomId") String chatRoomId,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") String id,
+                                Pageable pageable);
+}
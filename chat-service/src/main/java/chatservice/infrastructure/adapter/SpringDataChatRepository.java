@@ -1,9 +1,15 @@
 package chatservice.infrastructure.adapter;
 
 import chatservice.domain.model.ChatRoom;
+import chatservice.domain.model.ChatRoomSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -11,4 +17,70 @@ public interface SpringDataChatRepository extends JpaRepository<ChatRoom, String
     
     List<ChatRoom> findByUserIdOrderByCreatedAtDesc(String userId);
 
+    @Query("""
+            select new chatservice.domain.model.ChatRoomSummary(
+                r.id, r.userId, r.createdAt, r.messageCount, r.lastMessageAt, r.lastMessagePreview)
+            from ChatRoom r
+            where r.userId = :userId
+            order by r.createdAt desc, r.id desc
+            """)
+    List<ChatRoomSummary> findSummariesByUserId(@Param("userId") String userId, Pageable pageable);
+
+    /**
+     * 메시지 추가 시 요약 컬럼을 한 번의 UPDATE로 갱신 (행 잠금으로 동시 추가에도 개수 유실 없음)
+     * - count: 이번에 추가한 메시지 수, createdAt/preview: 그중 가장 마지막 메시지 기준
+     * - 늦게 커밋된 과거 메시지가 최신 미리보기를 덮어쓰지 않도록 created_at 비교
+     */
+    @Modifying
+    @Query("""
+            update ChatRoom r
+            set r.messageCount = r.messageCount + :count,
+                r.lastMessagePreview = case when r.lastMessageAt is null or r.lastMessageAt <= :createdAt
+                                            then :preview else r.lastMessagePreview end,
+                r.lastMessageAt = case when r.lastMessageAt is null or r.lastMessageAt <= :createdAt
+                                       then :createdAt else r.lastMessageAt end
+            where r.id = :chatRoomId
+            """)
+    int recordMessageAppended(@Param("chatRoomId") String chatRoomId,
+                              @Param("count") int count,
+                              @Param("createdAt") LocalDateTime createdAt,
+                              @Param("preview") String preview);
+
+    /**
+     * 요약 컬럼이 채워지기 전 메시지가 있는 채팅방을 limit개 잠금 (RoomSummaryBackfill)
+     * - 다른 노드가 같은 행을 백필 중이면 커밋을 기다린 뒤 last_message_at이 채워진 행은 제외됨
+     */
+    @Query(value = """
+            select r.id from chat_rooms r
+            where r.last_message_at is null
+              and exists (select 1 from chat_messages m where m.chat_room_id = r.id)
+            limit :limit
+            for update of r
+            """, nativeQuery = true)
+    List<String> lockUnsummarizedRooms(@Param("limit") int limit);
+
+    /**
+     * 잠근 채팅방의 요약 컬럼을 chat_messages에서 다시 계산
+     * - 잠금 후 새 스냅샷으로 읽으므로 먼저 커밋된 메시지는 포함되고, 진행 중인 추가는 잠금을 기다렸다가 그 위에 더함
+     */
+    @Modifying
+    @Query(value = """
+            update chat_rooms r
+            set message_count        = s.message_count,
+                last_message_at      = s.last_message_at,
+                last_message_preview = s.last_message_preview
+            from (
+                select distinct on (m.chat_room_id)
+                       m.chat_room_id,
+                       count(*) over (partition by m.chat_room_id) as message_count,
+                       m.created_at                                 as last_message_at,
+                       left(m.content, 100)                         as last_message_preview
+                from chat_messages m
+                where m.chat_room_id in (:ids)
+                order by m.chat_room_id, m.created_at desc, m.id desc
+            ) s
+            where r.id = s.chat_room_id
+            """, nativeQuery = true)
+    int backfillSummaries(@Param("ids") List<String> ids);
+
 }
@@ -0,0 +1,48 @@
+package chatservice.infrastructure.adapter;
+
+import chatservice.domain.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SpringDataOutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * 오래된(id) 순으로 limit개를 고르고, 고른 채팅방마다 그보다 앞선 순번의 행까지 함께 잠금
+     * - id는 노드별로 미리 할당되어 커밋 순서와 다를 수 있으므로, 채팅방별로 빠진 앞 순번 없이 room_seq 순서로 반환
+     * - 다른 트랜잭션이 잠근 행은 기다리지 않고 건너뜀
+     */
+    @Query(value = """
+            with head as (
+                select message_key, coalesce(room_seq, 0) as room_seq from outbox_events
+                order by id
+                limit :limit
+            )
+            select o.* from outbox_events o
+            join (select message_key, max(room_seq) as max_seq from head group by message_key) h
+              on o.message_key = h.message_key and coalesce(o.room_seq, 0) <= h.max_seq
+            order by o.message_key, coalesce(o.room_seq, 0), o.id
+            for update of o skip locked
+            """, nativeQuery = true)
+    List<OutboxEvent> lockBatch(@Param("limit") int limit);
+
+    /**
+     * 채팅방 아웃박스 순번 증가 (호출 트랜잭션이 끝날 때까지 그 채팅방 행을 잠가 같은 채팅방의 INSERT를 커밋 순서대로 줄 세움)
+     */
+    @Query(value = """
+            insert into outbox_room_seq (message_key, seq) values (:key, 1)
+            on conflict (message_key) do update set seq = outbox_room_seq.seq + 1
+            returning seq
+            """, nativeQuery = true)
+    long nextRoomSeq(@Param("key") String key);
+
+    /**
+     * 트랜잭션 단위 advisory lock (한 번에 한 노드만 릴레이하여 채팅방별 전송 순서 유지)
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryRelayLock(@Param("key") long key);
+}
@@ -0,0 +1,96 @@
+package backend.jobkrchatbot.event;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * llm-response 한 건 기준 직렬화 비교: 기존 경로(Map + JSON) vs EventCodec(Smile / JSON)
+ * - 기존 경로: llm-service는 Map을 JSON 문자열로, chat-service는 JsonDeserializer로 Map 복원
+ * - 레코드 크기는 Setup에서 한 번 출력 (프로듀서 압축 전 크기)
+ *
+ * 실행: ./gradlew :event-contract:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventCodecBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EventCodec smileCodec = new EventCodec(EventCodec.Format.SMILE);
+    private final EventCodec jsonCodec = new EventCodec(EventCodec.Format.JSON);
+
+    private LlmResponseEvent event;
+    private Map<String, Object> legacyMap;
+    private byte[] legacyBytes;
+    private byte[] smileBytes;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setup() throws Exception {
+        String message = "ENFP 성향이시라면 사람과 소통하는 직무에서 강점을 발휘하실 수 있습니다. ".repeat(20);
+        event = LlmResponseEvent.of("5f0c1c2e-9a7b-4d7e-8f21-1b0e6c9d4a11", "user-123",
+            "c2b8e0f4-3d5a-4a8e-9c61-7f2d1e0b9a33", message, System.currentTimeMillis());
+        legacyMap = Map.of(
+            "chatRoomId", event.getChatRoomId(),
+            "userId", event.getUserId(),
+            "requestId", event.getRequestId(),
+            "message", event.getMessage(),
+            "timestamp", event.getTimestamp()
+        );
+        legacyBytes = objectMapper.writeValueAsBytes(legacyMap);
+        smileBytes = smileCodec.encode(event);
+        jsonBytes = jsonCodec.encode(event);
+
+        System.out.printf("%nrecord bytes - legacy json: %d, codec json: %d, codec smile: %d%n",
+            legacyBytes.length, jsonBytes.length, smileBytes.length);
+    }
+
+    @Benchmark
+    public byte[] legacyJsonEncode() throws Exception {
+        return objectMapper.writeValueAsBytes(legacyMap);
+    }
+
+    @Benchmark
+    public Map<String, Object> legacyJsonDecodeMap() throws Exception {
+        return objectMapper.readValue(legacyBytes, MAP_TYPE);
+    }
+
+    @Benchmark
+    public JsonNode legacyJsonReadTree() throws Exception {
+        return objectMapper.readTree(legacyBytes);
+    }
+
+    @Benchmark
+    public byte[] smileEncode() {
+        return smileCodec.encode(event);
+    }
+
+    @Benchmark
+    public LlmResponseEvent smileDecode() {
+        return smileCodec.decode(smileBytes, LlmResponseEvent.class);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() {
+        return jsonCodec.encode(event);
+    }
+
+    @Benchmark
+    public LlmResponseEvent jsonDecode() {
+        return jsonCodec.decode(jsonBytes, LlmResponseEvent.class);
+    }
+}
@@ -0,0 +1,37 @@
+package backend.jobkrchatbot.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * chat-events: 채팅방 상태 변화 알림 (CHAT_STARTED, USER_MESSAGE_SENT, LLM_RESPONSE_COMPLETED)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatEvent implements VersionedEvent {
+
+    public static final int VERSION = 1;
+
+    private int version;
+    private String chatRoomId;
+    private String eventType;
+    private String userId;
+
+    public static ChatEvent of(String chatRoomId, String eventType, String userId) {
+        return new ChatEvent(VERSION, chatRoomId, eventType, userId);
+    }
+
+    @Override
+    public int supportedVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public void validate() {
+        EventSchema.require(chatRoomId, "chatRoomId", this);
+        EventSchema.require(eventType, "eventType", this);
+        EventSchema.require(userId, "userId", this);
+    }
+}
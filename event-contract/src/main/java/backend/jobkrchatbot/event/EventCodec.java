@@ -0,0 +1,91 @@
+package backend.jobkrchatbot.event;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 이벤트 바이너리 코덱
+ * - 쓰기: Smile (바이너리 JSON, 숫자/길이 접두 문자열로 JSON보다 작고 파싱이 빠름) 또는 JSON
+ * - 읽기: Smile 헤더(":)\n")로 형식을 판별해 둘 다 읽음 → 기존 JSON 레코드와 형식 전환 중인 프로듀서를 함께 처리
+ *   (전환 전 llm-response/llm-error는 JSON 문자열을 JsonSerializer로 한 번 더 감싼 "\"{...}\"" 형태라 풀어서 읽음)
+ * - 쓰기 전/읽은 후 스키마 검사 (필수 필드, 지원 버전)
+ * - 알 수 없는 필드는 무시 (같은 버전 안의 필드 추가는 하위 호환)
+ */
+public class EventCodec {
+
+    public enum Format {
+        SMILE, JSON
+    }
+
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+
+    private final Format format;
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper jsonMapper;
+
+    public EventCodec(Format format) {
+        this.format = format;
+        SmileFactory smileFactory = SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+        this.smileMapper = new ObjectMapper(smileFactory)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.jsonMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public byte[] encode(VersionedEvent event) {
+        event.validate();
+        try {
+            return (format == Format.SMILE ? smileMapper : jsonMapper).writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T extends VersionedEvent> T decode(byte[] data, Class<T> type) {
+        try {
+            T event = isSmile(data) ? smileMapper.readValue(data, type)
+                : isQuotedJson(data) ? jsonMapper.readValue(jsonMapper.readValue(data, String.class), type)
+                : jsonMapper.readValue(data, type);
+            EventSchema.checkVersion(event);
+            event.validate();
+            return event;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isSmile(byte[] data) {
+        if (data.length < SMILE_HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < SMILE_HEADER.length; i++) {
+            if (data[i] != SMILE_HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 최상위 값이 JSON 문자열인지 (앞 공백은 건너뜀)
+     */
+    private static boolean isQuotedJson(byte[] data) {
+        for (byte b : data) {
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                return b == '"';
+            }
+        }
+        return false;
+    }
+}
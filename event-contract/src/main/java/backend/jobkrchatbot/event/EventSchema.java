@@ -0,0 +1,29 @@
+package backend.jobkrchatbot.event;
+
+/**
+ * 이벤트 스키마 검사 도우미
+ */
+public final class EventSchema {
+
+    // version 필드가 없던 기존 JSON 레코드 (필드 구성은 v1과 같음)
+    public static final int LEGACY_VERSION = 0;
+
+    private EventSchema() {
+    }
+
+    public static void require(Object value, String field, VersionedEvent event) {
+        if (value == null) {
+            throw new IllegalArgumentException(event.getClass().getSimpleName() + "." + field + " 필드가 없습니다");
+        }
+    }
+
+    /**
+     * 읽을 수 없는 (더 새로운) 버전이면 거부
+     */
+    public static void checkVersion(VersionedEvent event) {
+        if (event.getVersion() > event.supportedVersion()) {
+            throw new IllegalArgumentException(event.getClass().getSimpleName() + " v" + event.getVersion()
+                + "는 지원하지 않는 버전입니다 (최대 v" + event.supportedVersion() + ")");
+        }
+    }
+}
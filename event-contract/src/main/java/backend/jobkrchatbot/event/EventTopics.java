@@ -0,0 +1,34 @@
+package backend.jobkrchatbot.event;
+
+import java.util.Map;
+
+/**
+ * 토픽 이름과 토픽별 이벤트 타입
+ */
+public final class EventTopics {
+
+    public static final String LLM_REQUEST = "llm-request";
+    public static final String LLM_REQUEST_DLT = "llm-request.DLT"; // 결과 발행에 끝내 실패한 요청
+    public static final String LLM_RESPONSE = "llm-response";
+    public static final String LLM_ERROR = "llm-error";
+    public static final String CHAT_EVENTS = "chat-events";
+
+    private static final Map<String, Class<? extends VersionedEvent>> TYPES = Map.of(
+        LLM_REQUEST, LlmRequestEvent.class,
+        LLM_REQUEST_DLT, LlmRequestEvent.class,
+        LLM_RESPONSE, LlmResponseEvent.class,
+        LLM_ERROR, LlmErrorEvent.class,
+        CHAT_EVENTS, ChatEvent.class
+    );
+
+    private EventTopics() {
+    }
+
+    public static Class<? extends VersionedEvent> typeOf(String topic) {
+        Class<? extends VersionedEvent> type = TYPES.get(topic);
+        if (type == null) {
+            throw new IllegalArgumentException("이벤트 계약이 없는 토픽입니다: " + topic);
+        }
+        return type;
+    }
+}
@@ -0,0 +1,37 @@
+package backend.jobkrchatbot.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * llm-error: llm-service → chat-service (응답 생성 실패 안내 저장 요청)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LlmErrorEvent implements VersionedEvent {
+
+    public static final int VERSION = 1;
+
+    private int version;
+    private String chatRoomId;
+    private String userId;
+    private String requestId;
+    private String error;
+
+    public static LlmErrorEvent of(String chatRoomId, String userId, String requestId, String error) {
+        return new LlmErrorEvent(VERSION, chatRoomId, userId, requestId, error);
+    }
+
+    @Override
+    public int supportedVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public void validate() {
+        EventSchema.require(chatRoomId, "chatRoomId", this);
+        EventSchema.require(requestId, "requestId", this);
+    }
+}
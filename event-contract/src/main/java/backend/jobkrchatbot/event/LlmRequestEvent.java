@@ -0,0 +1,39 @@
+package backend.jobkrchatbot.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * llm-request: chat-service → llm-service (사용자 메시지에 대한 응답 생성 요청)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LlmRequestEvent implements VersionedEvent {
+
+    public static final int VERSION = 1;
+
+    private int version;
+    private String chatRoomId;
+    private String userId;
+    private String userMessage;
+    private String requestId;
+
+    public static LlmRequestEvent of(String chatRoomId, String userId, String userMessage, String requestId) {
+        return new LlmRequestEvent(VERSION, chatRoomId, userId, userMessage, requestId);
+    }
+
+    @Override
+    public int supportedVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public void validate() {
+        EventSchema.require(chatRoomId, "chatRoomId", this);
+        EventSchema.require(userId, "userId", this);
+        EventSchema.require(userMessage, "userMessage", this);
+        EventSchema.require(requestId, "requestId", this);
+    }
+}
@@ -0,0 +1,40 @@
+package backend.jobkrchatbot.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * llm-response: llm-service → chat-service (완성된 응답 저장 요청)
+ * - timestamp: 응답 완료 시각 (epoch millis)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LlmResponseEvent implements VersionedEvent {
+
+    public static final int VERSION = 1;
+
+    private int version;
+    private String chatRoomId;
+    private String userId;
+    private String requestId;
+    private String message;
+    private long timestamp;
+
+    public static LlmResponseEvent of(String chatRoomId, String userId, String requestId, String message, long timestamp) {
+        return new LlmResponseEvent(VERSION, chatRoomId, userId, requestId, message, timestamp);
+    }
+
+    @Override
+    public int supportedVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public void validate() {
+        EventSchema.require(chatRoomId, "chatRoomId", this);
+        EventSchema.require(requestId, "requestId", this);
+        EventSchema.require(message, "message", this);
+    }
+}
@@ -0,0 +1,19 @@
+package backend.jobkrchatbot.event;
+
+/**
+ * 서비스 간 Kafka 이벤트 공통 계약
+ * - version: 스키마 버전 (필드 추가는 같은 버전에서 하위 호환, 의미가 바뀌면 버전 증가)
+ * - chatRoomId: 파티션 키 (같은 채팅방 이벤트의 순서 보장)
+ */
+public interface VersionedEvent {
+
+    int getVersion();
+
+    String getChatRoomId();
+
+    // 이 코드가 읽을 수 있는 최신 스키마 버전
+    int supportedVersion();
+
+    // 필수 필드 검사 (누락 시 IllegalArgumentException)
+    void validate();
+}
@@ -0,0 +1,28 @@
+package backend.jobkrchatbot.event.kafka;
+
+import backend.jobkrchatbot.event.EventCodec;
+import backend.jobkrchatbot.event.EventTopics;
+import backend.jobkrchatbot.event.VersionedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka 값 → VersionedEvent (토픽 이름으로 이벤트 타입 결정, Smile/JSON 자동 판별)
+ * - 스키마 검사 실패는 SerializationException → ErrorHandlingDeserializer로 감싸 poison pill을 건너뜀
+ */
+public class EventDeserializer implements Deserializer<VersionedEvent> {
+
+    private final EventCodec codec = new EventCodec(EventCodec.Format.SMILE);
+
+    @Override
+    public VersionedEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return codec.decode(data, EventTopics.typeOf(topic));
+        } catch (RuntimeException e) {
+            throw new SerializationException("Failed to deserialize event from topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package backend.jobkrchatbot.event.kafka;
+
+import backend.jobkrchatbot.event.EventCodec;
+import backend.jobkrchatbot.event.VersionedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * VersionedEvent → Kafka 값 직렬화
+ * - event.codec.format: smile(기본) | json
+ *   컨슈머는 두 형식을 모두 읽으므로 컨슈머 배포 후 프로듀서 형식을 전환
+ */
+public class EventSerializer implements Serializer<VersionedEvent> {
+
+    public static final String FORMAT_CONFIG = "event.codec.format";
+
+    private EventCodec codec = new EventCodec(EventCodec.Format.SMILE);
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object format = configs.get(FORMAT_CONFIG);
+        if (format != null) {
+            codec = new EventCodec(EventCodec.Format.valueOf(format.toString().toUpperCase(Locale.ROOT)));
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, VersionedEvent event) {
+        if (event == null) {
+            return null;
+        }
+        try {
+            return codec.encode(event);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Failed to serialize event for topic " + topic, e);
+        }
+    }
+}
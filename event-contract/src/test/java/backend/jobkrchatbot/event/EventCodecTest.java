@@ -0,0 +1,70 @@
+package backend.jobkrchatbot.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 코덱 전환 전후 레코드 읽기 호환성
+ * - 전환 전 레코드는 llm-service가 Map을 JSON 문자열로 만든 뒤 JsonSerializer로 보낸 값 그대로
+ */
+class EventCodecTest {
+
+    // 전환 전 llm-response 토픽에서 읽은 레코드 값 (version 필드 없음, 문자열로 한 번 더 인코딩됨)
+    private static final String LEGACY_RESPONSE_RECORD =
+        "\"{\\\"chatRoomId\\\":\\\"room-1\\\",\\\"requestId\\\":\\\"req-1\\\",\\\"message\\\":\\\"안녕하세요 \\\\\\\"면접\\\\\\\" 준비\\\","
+            + "\\\"userId\\\":\\\"user-1\\\",\\\"timestamp\\\":1723456789000}\"";
+
+    // 전환 전 llm-error 토픽에서 읽은 레코드 값
+    private static final String LEGACY_ERROR_RECORD =
+        "\"{\\\"requestId\\\":\\\"req-2\\\",\\\"error\\\":\\\"Connection reset\\\",\\\"userId\\\":\\\"user-1\\\",\\\"chatRoomId\\\":\\\"room-1\\\"}\"";
+
+    private final EventCodec codec = new EventCodec(EventCodec.Format.SMILE);
+
+    @Test
+    @DisplayName("전환 전 이중 인코딩된 llm-response 레코드를 읽는다")
+    void decodesLegacyResponseRecord() {
+        LlmResponseEvent event = codec.decode(LEGACY_RESPONSE_RECORD.getBytes(StandardCharsets.UTF_8), LlmResponseEvent.class);
+
+        assertThat(event.getVersion()).isEqualTo(EventSchema.LEGACY_VERSION);
+        assertThat(event.getChatRoomId()).isEqualTo("room-1");
+        assertThat(event.getUserId()).isEqualTo("user-1");
+        assertThat(event.getRequestId()).isEqualTo("req-1");
+        assertThat(event.getMessage()).isEqualTo("안녕하세요 \"면접\" 준비");
+        assertThat(event.getTimestamp()).isEqualTo(1723456789000L);
+    }
+
+    @Test
+    @DisplayName("전환 전 이중 인코딩된 llm-error 레코드를 읽는다")
+    void decodesLegacyErrorRecord() {
+        LlmErrorEvent event = codec.decode(LEGACY_ERROR_RECORD.getBytes(StandardCharsets.UTF_8), LlmErrorEvent.class);
+
+        assertThat(event.getChatRoomId()).isEqualTo("room-1");
+        assertThat(event.getRequestId()).isEqualTo("req-2");
+        assertThat(event.getError()).isEqualTo("Connection reset");
+    }
+
+    @Test
+    @DisplayName("Smile/JSON으로 쓴 레코드는 어느 코덱으로도 읽는다")
+    void decodesBothFormats() {
+        LlmResponseEvent event = LlmResponseEvent.of("room-1", "user-1", "req-1", "응답", 1L);
+
+        for (EventCodec.Format format : EventCodec.Format.values()) {
+            byte[] data = new EventCodec(format).encode(event);
+            assertThat(codec.decode(data, LlmResponseEvent.class)).isEqualTo(event);
+        }
+    }
+
+    @Test
+    @DisplayName("필수 필드가 빠진 전환 전 레코드는 거부한다")
+    void rejectsLegacyRecordWithoutRequiredField() {
+        byte[] data = "\"{\\\"chatRoomId\\\":\\\"room-1\\\"}\"".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> codec.decode(data, LlmResponseEvent.class))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
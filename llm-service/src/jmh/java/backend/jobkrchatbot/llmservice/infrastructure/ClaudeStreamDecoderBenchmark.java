@@ -0,0 +1,121 @@
+package backend.jobkrchatbot.llmservice.infrastructure;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claude 스트리밍 응답 하나 기준 디코딩 비교: 기존 경로(줄마다 String + readTree) vs ClaudeStreamDecoder
+ * - 응답은 네트워크 버퍼 크기(chunkBytes)로 잘라 전달 (줄/멀티바이트 문자가 버퍼 경계에 걸림)
+ * - 기존 경로: bodyToFlux(String.class)가 줄마다 String을 만들고 data를 JsonNode 트리로 파싱하던 방식을 재현
+ * - 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op)으로 비교
+ *
+ * 실행: ./gradlew :llm-service:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClaudeStreamDecoderBenchmark {
+
+    @Param({"200"})
+    private int deltas;
+
+    @Param({"512"})
+    private int chunkBytes;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    private List<byte[]> chunks;
+
+    @Setup
+    public void setup() {
+        StringBuilder stream = new StringBuilder()
+            .append("event: message_start\n")
+            .append("data: {\"type\":\"message_start\",\"message\":{\"id\":\"msg_01\",\"type\":\"message\",\"role\":\"assistant\",")
+            .append("\"model\":\"claude-3-sonnet-20240229\",\"usage\":{\"input_tokens\":1200,\"output_tokens\":1}}}\n\n")
+            .append("event: content_block_start\n")
+            .append("data: {\"type\":\"content_block_start\",\"index\":0,\"content_block\":{\"type\":\"text\",\"text\":\"\"}}\n\n")
+            .append("event: ping\n")
+            .append("data: {\"type\": \"ping\"}\n\n");
+        for (int i = 0; i < deltas; i++) {
+            stream.append("event: content_block_delta\n")
+                .append("data: {\"type\":\"content_block_delta\",\"index\":0,\"delta\":{\"type\":\"text_delta\",\"text\":\"")
+                .append("면접 질문 ").append(i).append("번: 프로젝트에서 맡은 역할을 설명해 주세요. ")
+                .append("\"}}\n\n");
+        }
+        stream.append("event: content_block_stop\n")
+            .append("data: {\"type\":\"content_block_stop\",\"index\":0}\n\n")
+            .append("event: message_delta\n")
+            .append("data: {\"type\":\"message_delta\",\"delta\":{\"stop_reason\":\"end_turn\"},\"usage\":{\"output_tokens\":900}}\n\n")
+            .append("event: message_stop\n")
+            .append("data: {\"type\":\"message_stop\"}\n\n");
+
+        byte[] bytes = stream.toString().getBytes(StandardCharsets.UTF_8);
+        chunks = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += chunkBytes) {
+            int end = Math.min(bytes.length, offset + chunkBytes);
+            byte[] chunk = new byte[end - offset];
+            System.arraycopy(bytes, offset, chunk, 0, chunk.length);
+            chunks.add(chunk);
+        }
+    }
+
+    @Benchmark
+    public void decoder(Blackhole blackhole) {
+        ClaudeStreamDecoder decoder = new ClaudeStreamDecoder(objectMapper.getFactory());
+        for (byte[] chunk : chunks) {
+            for (String delta : decoder.decode(bufferFactory.wrap(chunk))) {
+                blackhole.consume(delta);
+            }
+        }
+    }
+
+    @Benchmark
+    public void legacyLineReadTree(Blackhole blackhole) throws Exception {
+        ByteArrayOutputStream partial = new ByteArrayOutputStream();
+        String data = null;
+        for (byte[] chunk : chunks) {
+            int lineStart = 0;
+            for (int i = 0; i < chunk.length; i++) {
+                if (chunk[i] != '\n') {
+                    continue;
+                }
+                partial.write(chunk, lineStart, i - lineStart);
+                String line = partial.toString(StandardCharsets.UTF_8);
+                partial.reset();
+                lineStart = i + 1;
+
+                if (line.isEmpty()) {
+                    // 이벤트 경계: 모은 data를 트리로 파싱해 delta.text 추출
+                    if (data != null && !data.equals("[DONE]")) {
+                        JsonNode json = objectMapper.readTree(data);
+                        if (json.has("type") && "content_block_delta".equals(json.get("type").asText())
+                            && json.has("delta") && json.get("delta").has("text")) {
+                            blackhole.consume(json.get("delta").get("text").asText());
+                        }
+                    }
+                    data = null;
+                } else if (line.startsWith("data:")) {
+                    data = line.substring(5).trim();
+                }
+            }
+            partial.write(chunk, lineStart, chunk.length - lineStart);
+        }
+    }
+}
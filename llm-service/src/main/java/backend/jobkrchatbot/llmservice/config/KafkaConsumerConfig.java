@@ -0,0 +1,51 @@
+package backend.jobkrchatbot.llmservice.config;
+
+import backend.jobkrchatbot.event.EventTopics;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+    /**
+     * llm-request 전용 리스너 컨테이너
+     * - concurrency: 컨슈머 스레드 수 (파티션 단위로 병렬 처리, 파티션 수보다 크면 남는 스레드는 유휴)
+     * - MANUAL + asyncAcks: 다른 스레드에서 순서와 무관하게 ack하고, 커밋은 앞선 offset이 모두 ack된 구간까지만 진행
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> llmRequestContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${llm.kafka.request.concurrency:3}") int concurrency) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    @Bean
+    public NewTopic llmRequestTopic(@Value("${llm.kafka.request.partitions:6}") int partitions) {
+        return TopicBuilder.name("llm-request")
+                .partitions(partitions)
+                .build();
+    }
+
+    /**
+     * 결과 발행에 끝내 실패한 llm-request (LlmRequestTracker.abandon 전에 원본 요청을 보관)
+     */
+    @Bean
+    public NewTopic llmRequestDeadLetterTopic(@Value("${llm.kafka.request.partitions:6}") int partitions) {
+        return TopicBuilder.name(EventTopics.LLM_REQUEST_DLT)
+                .partitions(partitions)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package backend.jobkrchatbot.llmservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * reactive 스트리밍 모드 설정
+ * - classpath에 Tomcat(websocket starter)도 있어 기본값으로는 Tomcat 위에서 WebFlux가 뜨므로 Netty를 명시
+ */
+@Configuration
+@ConditionalOnProperty(name = "llm.streaming.mode", havingValue = "reactive")
+public class ReactiveStreamingConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,22 @@
+package backend.jobkrchatbot.llmservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@ConditionalOnProperty(name = "llm.sse.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class RedisRelayConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        // 기본 executor는 메시지마다 새 스레드를 띄워 순서가 섞이므로 수신 스레드에서 바로 RedisSseRelay로 넘김
+        container.setTaskExecutor(new SyncTaskExecutor());
+        return container;
+    }
+}
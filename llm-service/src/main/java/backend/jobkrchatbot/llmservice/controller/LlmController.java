@@ -3,6 +3,7 @@ package backend.jobkrchatbot.llmservice.controller;
 import backend.jobkrchatbot.llmservice.service.LlmService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -11,16 +12,25 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 @RestController
 @RequestMapping("/api/llm")
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "llm.streaming.mode", havingValue = "servlet", matchIfMissing = true)
 public class LlmController {
 
     private final LlmService llmService;
 
     /**
-     * 채팅방별 직접 SSE 스트리밍 연결
+     * 채팅방별 직접 SSE 스트리밍 연결 (servlet 모드)
+     *
+     * 연결당 비용 (추정치):
+     * - Tomcat async context + request/response 객체와 8KB 헤더/출력 버퍼, 소켓 버퍼 등 수십 KB
+     * - emitter.send는 블로킹 쓰기라 느린 클라이언트에는 전송 중 스레드(기본 1MB 스택) 하나가 묶임
+     * 대량의 유휴 연결은 ReactiveLlmController(llm.streaming.mode=reactive)를 사용
+     *
+     * 재연결 시 브라우저가 보내는 Last-Event-ID(requestId:seq)가 있으면 그 요청의 다음 이벤트부터 재생
      */
     @GetMapping(value = "/stream/{chatRoomId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter streamChat(@PathVariable String chatRoomId) {
-        log.info("Creating SSE stream for chat room: {}", chatRoomId);
-        return llmService.createStreamingConnection(chatRoomId);
+    public SseEmitter streamChat(@PathVariable String chatRoomId,
+                                 @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("Creating SSE stream for chat room: {} (Last-Event-ID: {})", chatRoomId, lastEventId);
+        return llmService.createStreamingConnection(chatRoomId, lastEventId);
     }
 }
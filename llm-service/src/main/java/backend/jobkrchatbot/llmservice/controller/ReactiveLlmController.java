@@ -0,0 +1,42 @@
+package backend.jobkrchatbot.llmservice.controller;
+
+import backend.jobkrchatbot.llmservice.service.LlmService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/llm")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "llm.streaming.mode", havingValue = "reactive")
+public class ReactiveLlmController {
+
+    private final LlmService llmService;
+
+    /**
+     * 채팅방별 직접 SSE 스트리밍 연결 (reactive 모드, Netty)
+     *
+     * 연결당 비용 (추정치):
+     * - Netty 채널 + 파이프라인과 연결별 OutboundBuffer 정도의 수 KB
+     * - 버퍼는 쓰기 시점에만 pooled allocator에서 빌려 쓰고, 유휴 연결은 스레드를 점유하지 않음
+     * - 모든 연결을 CPU 코어 수만큼의 이벤트 루프 스레드가 처리
+     *
+     * 느린 연결:
+     * - 스트림은 OutboundBuffer(llm.sse.outbound.max-bytes 한도)에 넣기만 하고, Netty 요청 수요만큼만 꺼내 내보냄
+     * - 한도를 넘으면 llm.sse.outbound.overflow-policy 적용
+     *   (complete-only: 대기 chunk를 버리고 reset 후 complete만 전달, disconnect: 연결 종료 후 재연결 재생)
+     *
+     * 재연결 시 브라우저가 보내는 Last-Event-ID(requestId:seq)가 있으면 그 요청의 다음 이벤트부터 재생
+     */
+    @GetMapping(value = "/stream/{chatRoomId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamChat(@PathVariable String chatRoomId,
+                                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("Creating reactive SSE stream for chat room: {} (Last-Event-ID: {})", chatRoomId, lastEventId);
+        return llmService.createReactiveStreamingConnection(chatRoomId, lastEventId);
+    }
+}
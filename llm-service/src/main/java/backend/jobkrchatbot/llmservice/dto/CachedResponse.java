@@ -0,0 +1,19 @@
+package backend.jobkrchatbot.llmservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Redis(L2)에 저장되는 LLM 응답 캐시 항목
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedResponse {
+    private String response;
+    private long fingerprint;
+    private long createdAt;
+}
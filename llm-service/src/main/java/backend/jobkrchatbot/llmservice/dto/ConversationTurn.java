@@ -0,0 +1,20 @@
+package backend.jobkrchatbot.llmservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Claude messages 배열의 한 턴 (role: user | assistant)
+ * - tokens: 추가 시점에 한 번 계산한 추정 토큰 수
+ */
+@Getter
+@AllArgsConstructor
+public class ConversationTurn {
+
+    public static final String USER = "user";
+    public static final String ASSISTANT = "assistant";
+
+    private final String role;
+    private final String content;
+    private final int tokens;
+}
@@ -0,0 +1,25 @@
+package backend.jobkrchatbot.llmservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 다른 노드로 전달되는 SSE 이벤트 (채팅방 + 이벤트 이름 + 직렬화된 데이터)
+ * - id: 요청 이벤트의 SSE id (requestId:seq), 없으면 null
+ * - sourceNodeId: 재연결 재생 요청(resume)을 보낸 노드
+ * - replay: 재생 이벤트 (받는 노드에서 그 요청의 재생을 기다리는 구독자에게만 전달)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamEvent {
+    private String chatRoomId;
+    private String eventName;
+    private String data;
+    private String id;
+    private String sourceNodeId;
+    private boolean replay;
+}
@@ -1,19 +1,22 @@
 package backend.jobkrchatbot.llmservice.infrastructure;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import backend.jobkrchatbot.llmservice.dto.ConversationTurn;
+import backend.jobkrchatbot.llmservice.service.PromptTemplate;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
 
 @Slf4j
 @Component
@@ -22,6 +25,7 @@ public class ClaudeClient {
 
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private final ClaudeRequestEncoder requestEncoder;
 
     @Value("${claude.api.key}")
     private String apiKey;
@@ -35,60 +39,46 @@ public class ClaudeClient {
     @Value("${claude.api.version}")
     private String apiVersion;
 
+    // 첫 텍스트 delta 및 delta 사이 최대 대기 시간 (넘기면 TimeoutException으로 스트림 실패)
+    @Value("${claude.api.stream-idle-timeout:60s}")
+    private Duration streamIdleTimeout;
+
+    private HttpHeaders headers;
+
+    @PostConstruct
+    public void init() {
+        log.info("Claude API 설정 - URL: {}, Model: {}, Version: {}", apiUrl, model, apiVersion);
+        log.info("Claude API Key 설정됨: {}", apiKey != null && !apiKey.isEmpty() ? "YES" : "NO");
+
+        HttpHeaders defaultHeaders = new HttpHeaders();
+        defaultHeaders.setContentType(MediaType.APPLICATION_JSON);
+        defaultHeaders.set("x-api-key", apiKey);
+        defaultHeaders.set("anthropic-version", apiVersion);
+        headers = HttpHeaders.readOnlyHttpHeaders(defaultHeaders);
+    }
+
     /**
      * Claude API 스트리밍 응답 생성 (응답 파싱만 담당)
+     * - claude.api.url을 로컬 stub 서버로 지정하면 실제 전송되는 본문을 그대로 검증할 수 있음
+     * - 응답이 claude.api.stream-idle-timeout 동안 멈추면 에러로 끝나 호출 측 에러 처리(에러 이벤트 + llm-error 발행)로 넘어감
      */
-    public Flux<String> generateStreamingResponse(String userPrompt, String systemPrompt) {
+    public Flux<String> generateStreamingResponse(List<ConversationTurn> messages, PromptTemplate systemPrompt) {
         try {
+            String userPrompt = messages.get(messages.size() - 1).getContent();
             log.info("Claude API 스트리밍 시작 - 프롬프트: {}", userPrompt.substring(0, Math.min(50, userPrompt.length())));
-            log.info("Claude API 설정 - URL: {}, Model: {}, Version: {}", apiUrl, model, apiVersion);
-            log.info("Claude API Key 설정됨: {}", apiKey != null && !apiKey.isEmpty() ? "YES" : "NO");
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("x-api-key", apiKey);
-            headers.set("anthropic-version", apiVersion);
-
-            Map<String, Object> requestBody = Map.of(
-                "model", model,
-                "max_tokens", 2000,
-                "stream", true,
-                "system", systemPrompt,
-                "messages", List.of(
-                    Map.of("role", "user", "content", userPrompt)
-                )
-            );
-            
-            log.info("Claude API 요청 Body: {}", requestBody);
+
+            byte[] requestBody = requestEncoder.encode(systemPrompt, messages);
+            log.debug("Claude API 요청 - template: {}, messages: {}, body: {} bytes",
+                systemPrompt.getKey(), messages.size(), requestBody.length);
 
             return webClient.post()
                 .uri(apiUrl)
                 .headers(h -> h.putAll(headers))
                 .bodyValue(requestBody)
                 .retrieve()
-                .bodyToFlux(String.class)
-                .doOnNext(rawLine -> log.debug("Raw streaming line: {}", rawLine))
-                .filter(data -> !data.equals("[DONE]"))
-                    .map(data -> {
-                        try {
-                            JsonNode json = objectMapper.readTree(data);
-
-                            // Claude 응답 구조: {"type": "content_block_delta", "delta": {"text": "..."}}
-                            if (json.has("type") && "content_block_delta".equals(json.get("type").asText())) {
-                                if (json.has("delta") && json.get("delta").has("text")) {
-                                    String content = json.get("delta").get("text").asText();
-                                    return content;
-                                }
-                            }
-
-                            return "";
-
-                        } catch (Exception e) {
-                            log.error("파싱 실패: {}", data, e);
-                            return "";
-                        }
-                    })
-                .filter(content -> content != null && !content.isEmpty())
+                .bodyToFlux(DataBuffer.class)
+                .transform(this::decodeTextDeltas)
+                .timeout(streamIdleTimeout)
                 .doOnComplete(() -> log.info("Claude API 응답 파싱 완료"));
 
         } catch (Exception e) {
@@ -97,4 +87,15 @@ public class ClaudeClient {
         }
     }
 
+    /**
+     * SSE 바이트 스트림에서 content_block_delta의 텍스트만 추출 (구독마다 디코더 하나)
+     */
+    private Flux<String> decodeTextDeltas(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            ClaudeStreamDecoder decoder = new ClaudeStreamDecoder(objectMapper.getFactory());
+            return body.concatMapIterable(decoder::decode)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release); // 취소 시 prefetch된 버퍼 해제
+        });
+    }
+
 } 
\ No newline at end of file
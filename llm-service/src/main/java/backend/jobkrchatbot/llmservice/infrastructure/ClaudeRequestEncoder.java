@@ -0,0 +1,106 @@
+package backend.jobkrchatbot.llmservice.infrastructure;
+
+import backend.jobkrchatbot.llmservice.dto.ConversationTurn;
+import backend.jobkrchatbot.llmservice.service.PromptTemplate;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Claude Messages API 요청 본문 인코더
+ * - model/max_tokens/stream/system 까지의 고정 prefix는 템플릿 버전별로 한 번만 직렬화
+ * - 요청마다 messages 배열(대화 컨텍스트 + 이번 사용자 턴)만 이어 붙임
+ * - prompt caching 활성화 시 system 블록에 cache_control(ephemeral) 추가
+ */
+@Component
+@RequiredArgsConstructor
+public class ClaudeRequestEncoder {
+
+    private static final byte[] SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, byte[]> prefixCache = new ConcurrentHashMap<>();
+
+    @Value("${claude.api.model}")
+    private String model;
+
+    @Value("${claude.api.max-tokens:2000}")
+    private int maxTokens;
+
+    @Value("${claude.api.prompt-caching:true}")
+    private boolean promptCaching;
+
+    public byte[] encode(PromptTemplate systemPrompt, List<ConversationTurn> messages) {
+        byte[] prefix = prefixCache.computeIfAbsent(systemPrompt.getKey(), key -> encodePrefix(systemPrompt));
+
+        int contentLength = 0;
+        for (ConversationTurn turn : messages) {
+            contentLength += turn.getContent().length();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(prefix.length + contentLength * 3 + 64 * messages.size());
+        out.writeBytes(prefix);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // prefix에서 배열이 이미 열려 있으므로 루트 값 구분자(공백) 대신 쉼표를 직접 씀
+            generator.setRootValueSeparator(null);
+            for (int i = 0; i < messages.size(); i++) {
+                if (i > 0) {
+                    generator.writeRaw(',');
+                }
+                ConversationTurn turn = messages.get(i);
+                generator.writeStartObject();
+                generator.writeStringField("role", turn.getRole());
+                generator.writeStringField("content", turn.getContent());
+                generator.writeEndObject();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        out.writeBytes(SUFFIX);
+        return out.toByteArray();
+    }
+
+    /**
+     * {"model":...,"max_tokens":...,"stream":true,"system":[...],"messages":[  까지 직렬화
+     */
+    private byte[] encodePrefix(PromptTemplate systemPrompt) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(systemPrompt.getText().length() * 3 + 256);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("model", model);
+            generator.writeNumberField("max_tokens", maxTokens);
+            generator.writeBooleanField("stream", true);
+
+            generator.writeArrayFieldStart("system");
+            generator.writeStartObject();
+            generator.writeStringField("type", "text");
+            generator.writeStringField("text", systemPrompt.getText());
+            if (promptCaching) {
+                generator.writeObjectFieldStart("cache_control");
+                generator.writeStringField("type", "ephemeral");
+                generator.writeEndObject();
+            }
+            generator.writeEndObject();
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("messages");
+            // 배열과 객체는 열린 상태로 flush (요청마다 메시지와 "]}"를 이어 붙임)
+            generator.flush();
+            byte[] prefix = out.toByteArray();
+            out.reset();
+            return prefix;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
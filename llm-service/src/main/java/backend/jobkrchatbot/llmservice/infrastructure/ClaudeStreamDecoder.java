@@ -0,0 +1,201 @@
+package backend.jobkrchatbot.llmservice.infrastructure;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Claude 스트리밍 응답(SSE) 디코더 - 스트림 하나당 인스턴스 하나
+ * - DataBuffer를 재사용 버퍼에 이어 붙여 줄 단위로 자름 (줄마다 String을 만들지 않음)
+ * - "event:" 줄로 content_block_delta / error 이외의 이벤트(ping, message_start 등)는 파싱 없이 건너뜀
+ * - data JSON은 JsonNode 트리 대신 토큰 단위로 읽어 delta.text만 추출
+ */
+@Slf4j
+public class ClaudeStreamDecoder {
+
+    private static final byte[] EVENT_PREFIX = "event:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DATA_PREFIX = "data:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CONTENT_BLOCK_DELTA = "content_block_delta".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ERROR = "error".getBytes(StandardCharsets.US_ASCII);
+
+    private final JsonFactory jsonFactory;
+
+    private byte[] lineBuffer = new byte[4096];
+    private int length;
+    private EventType currentEvent = EventType.UNKNOWN;
+
+    private enum EventType { UNKNOWN, CONTENT_BLOCK_DELTA, ERROR, IGNORED }
+
+    public ClaudeStreamDecoder(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * 수신한 버퍼에서 완성된 줄을 처리하고 추출된 텍스트 delta 반환 (버퍼는 여기서 해제)
+     */
+    public List<String> decode(DataBuffer buffer) {
+        try {
+            int readable = buffer.readableByteCount();
+            ensureCapacity(length + readable);
+            buffer.read(lineBuffer, length, readable);
+            length += readable;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+
+        List<String> deltas = null;
+        int lineStart = 0;
+        for (int i = 0; i < length; i++) {
+            if (lineBuffer[i] != '\n') {
+                continue;
+            }
+            int lineEnd = (i > lineStart && lineBuffer[i - 1] == '\r') ? i - 1 : i;
+            String delta = processLine(lineStart, lineEnd);
+            if (delta != null && !delta.isEmpty()) {
+                if (deltas == null) {
+                    deltas = new ArrayList<>(2);
+                }
+                deltas.add(delta);
+            }
+            lineStart = i + 1;
+        }
+
+        // 아직 끝나지 않은 줄은 버퍼 앞으로 당겨 둠
+        if (lineStart > 0) {
+            System.arraycopy(lineBuffer, lineStart, lineBuffer, 0, length - lineStart);
+            length -= lineStart;
+        }
+        return deltas != null ? deltas : List.of();
+    }
+
+    private String processLine(int start, int end) {
+        if (start == end) {
+            // 빈 줄 = 이벤트 경계
+            currentEvent = EventType.UNKNOWN;
+            return null;
+        }
+        if (startsWith(start, end, EVENT_PREFIX)) {
+            int valueStart = skipSpace(start + EVENT_PREFIX.length, end);
+            if (equalsAt(valueStart, end, CONTENT_BLOCK_DELTA)) {
+                currentEvent = EventType.CONTENT_BLOCK_DELTA;
+            } else if (equalsAt(valueStart, end, ERROR)) {
+                currentEvent = EventType.ERROR;
+            } else {
+                currentEvent = EventType.IGNORED;
+            }
+            return null;
+        }
+        if (!startsWith(start, end, DATA_PREFIX) || currentEvent == EventType.IGNORED) {
+            return null;
+        }
+
+        int dataStart = skipSpace(start + DATA_PREFIX.length, end);
+        if (dataStart >= end || lineBuffer[dataStart] != '{') {
+            return null; // [DONE] 등
+        }
+        try {
+            return parseData(dataStart, end - dataStart);
+        } catch (IOException e) {
+            log.error("파싱 실패: {}", new String(lineBuffer, dataStart, end - dataStart, StandardCharsets.UTF_8), e);
+            return null;
+        }
+    }
+
+    /**
+     * {"type":"content_block_delta","delta":{"type":"text_delta","text":"..."}} 에서 text만 추출
+     * {"type":"error","error":{"type":"overloaded_error","message":"..."}} 는 예외로 변환
+     */
+    private String parseData(int offset, int len) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(lineBuffer, offset, len)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            String text = null;
+            String errorType = null;
+            String errorMessage = null;
+            boolean isDelta = false;
+            boolean isError = false;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("type".equals(field)) {
+                    String type = parser.getText();
+                    isDelta = "content_block_delta".equals(type);
+                    isError = "error".equals(type);
+                    if (!isDelta && !isError) {
+                        return null;
+                    }
+                } else if ("delta".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String deltaField = parser.currentName();
+                        parser.nextToken();
+                        if ("text".equals(deltaField)) {
+                            text = parser.getText();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else if ("error".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String errorField = parser.currentName();
+                        parser.nextToken();
+                        if ("type".equals(errorField)) {
+                            errorType = parser.getText();
+                        } else if ("message".equals(errorField)) {
+                            errorMessage = parser.getText();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (isError) {
+                throw new IllegalStateException("Claude 스트리밍 오류: " + errorType + " - " + errorMessage);
+            }
+            return isDelta ? text : null;
+        }
+    }
+
+    private boolean startsWith(int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (lineBuffer[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean equalsAt(int start, int end, byte[] value) {
+        return end - start == value.length && startsWith(start, end, value);
+    }
+
+    private int skipSpace(int index, int end) {
+        while (index < end && lineBuffer[index] == ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > lineBuffer.length) {
+            byte[] grown = new byte[Math.max(required, lineBuffer.length * 2)];
+            System.arraycopy(lineBuffer, 0, grown, 0, length);
+            lineBuffer = grown;
+        }
+    }
+}
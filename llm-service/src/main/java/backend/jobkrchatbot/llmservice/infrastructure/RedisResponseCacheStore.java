@@ -0,0 +1,142 @@
+package backend.jobkrchatbot.llmservice.infrastructure;
+
+import backend.jobkrchatbot.llmservice.dto.CachedResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * LLM 응답 캐시 L2 (Redis, 노드 간 공유)
+ * - llm:cache:entry:{template}:{hash} : 응답 + SimHash 지문 (JSON, TTL)
+ * - llm:cache:zband:{template}:{band} : 지문 구간별 entry hash ZSET (score = 저장 시각, 근사 중복 후보 색인)
+ *   저장할 때마다 TTL이 지난 hash와 max-band-entries를 넘는 오래된 hash를 잘라 내 구간 크기를 제한
+ * - Redis 오류는 캐시 미스로 처리하여 LLM 호출 경로를 막지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisResponseCacheStore {
+
+    private static final String ENTRY_KEY_PREFIX = "llm:cache:entry:";
+    private static final String BAND_KEY_PREFIX = "llm:cache:zband:";
+
+    // 구간마다 cutoff 이후 최신 hash를 limit개씩 모아 score(저장 시각) 내림차순으로 합친 뒤 상위 limit개 (중복 제거)
+    private static final RedisScript<List> NEWEST_CANDIDATES_SCRIPT = new DefaultRedisScript<>(
+        "local newest = {} "
+            + "for _, key in ipairs(KEYS) do "
+            + "local found = redis.call('zrevrangebyscore', key, '+inf', ARGV[1], 'WITHSCORES', 'LIMIT', 0, ARGV[2]) "
+            + "for i = 1, #found, 2 do "
+            + "local score = tonumber(found[i + 1]) "
+            + "if newest[found[i]] == nil or newest[found[i]] < score then newest[found[i]] = score end "
+            + "end end "
+            + "local items = {} "
+            + "for hash, score in pairs(newest) do items[#items + 1] = {hash, score} end "
+            + "table.sort(items, function(a, b) return a[2] > b[2] end) "
+            + "local result = {} "
+            + "for i = 1, math.min(#items, tonumber(ARGV[2])) do result[i] = items[i][1] end "
+            + "return result",
+        List.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${llm.cache.near-duplicate.max-band-entries:256}")
+    private int maxBandEntries;
+
+    public Optional<CachedResponse> get(String templateKey, String hash) {
+        try {
+            String json = redisTemplate.opsForValue().get(entryKey(templateKey, hash));
+            if (json == null) {
+                return Optional.empty();
+            }
+            return Optional.of(objectMapper.readValue(json, CachedResponse.class));
+        } catch (Exception e) {
+            log.warn("Failed to read response cache entry: {}:{}", templateKey, hash, e);
+            return Optional.empty();
+        }
+    }
+
+    public void put(String templateKey, String hash, CachedResponse value, List<String> bands, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(entryKey(templateKey, hash), objectMapper.writeValueAsString(value), ttl);
+            if (bands.isEmpty()) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            byte[] member = bytes(hash);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String band : bands) {
+                    byte[] bandKey = bytes(bandKey(templateKey, band));
+                    connection.zSetCommands().zAdd(bandKey, now, member);
+                    connection.zSetCommands().zRemRangeByScore(bandKey, Double.NEGATIVE_INFINITY, now - ttl.toMillis());
+                    connection.zSetCommands().zRemRange(bandKey, 0, -(maxBandEntries + 1L));
+                    connection.keyCommands().pExpire(bandKey, ttl.toMillis());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to write response cache entry: {}:{}", templateKey, hash, e);
+        }
+    }
+
+    /**
+     * 지문 구간 중 하나라도 같은 항목 중 최근 저장된 maxCandidates개를 후보로 조회 (스크립트 + MGET 두 번의 왕복)
+     * - TTL이 지난 hash는 score로 거르고, 그 사이 지워진 entry는 값이 없으므로 무시
+     */
+    @SuppressWarnings("unchecked")
+    public List<CachedResponse> findCandidates(String templateKey, List<String> bands, int maxCandidates, Duration ttl) {
+        try {
+            List<String> bandKeys = bands.stream().map(band -> bandKey(templateKey, band)).toList();
+            long cutoff = System.currentTimeMillis() - ttl.toMillis();
+            List<String> hashes = redisTemplate.execute(NEWEST_CANDIDATES_SCRIPT, bandKeys,
+                String.valueOf(cutoff), String.valueOf(maxCandidates));
+            if (hashes == null || hashes.isEmpty()) {
+                return List.of();
+            }
+
+            List<String> entryKeys = hashes.stream()
+                .map(hash -> entryKey(templateKey, hash))
+                .toList();
+            List<String> values = redisTemplate.opsForValue().multiGet(entryKeys);
+            if (values == null) {
+                return List.of();
+            }
+
+            List<CachedResponse> candidates = new ArrayList<>(values.size());
+            for (String json : values) {
+                if (json != null) {
+                    candidates.add(objectMapper.readValue(json, CachedResponse.class));
+                }
+            }
+            return candidates;
+        } catch (Exception e) {
+            log.warn("Failed to look up near-duplicate cache candidates: {}", templateKey, e);
+            return List.of();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String entryKey(String templateKey, String hash) {
+        return ENTRY_KEY_PREFIX + templateKey + ":" + hash;
+    }
+
+    private String bandKey(String templateKey, String band) {
+        return BAND_KEY_PREFIX + templateKey + ":" + band;
+    }
+}
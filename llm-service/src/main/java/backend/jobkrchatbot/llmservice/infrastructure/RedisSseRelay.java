@@ -0,0 +1,236 @@
+package backend.jobkrchatbot.llmservice.infrastructure;
+
+import backend.jobkrchatbot.llmservice.dto.StreamEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Redis 기반 SSE 라우팅
+ * - 채팅방 SSE 연결을 보유한 노드들을 Redis에 등록 (같은 채팅방의 탭이 여러 노드에 있으면 모두 소유 노드)
+ * - 다른 노드가 소비한 요청의 이벤트를 노드 전용 채널(pub/sub)로 전달
+ * - 요청별 재생 버퍼를 보유한 노드를 Redis에 등록 (다른 노드로 재연결된 경우 재생 요청 전달용)
+ * - 전달 대상 노드 채널에 구독자가 없으면(노드 종료·교체) 그 노드를 소유 노드에서 제거
+ *
+ * 메트릭
+ * - llm.sse.relay.dropped: 구독자가 없는 노드로 보내져 버려진 이벤트
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "llm.sse.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class RedisSseRelay {
+
+    // 채팅방별 소유 노드 ZSET (member=nodeId, score=그 노드의 소유권 만료 시각 ms)
+    private static final String OWNERS_KEY_PREFIX = "llm:sse:owners:";
+    private static final String NODE_CHANNEL_PREFIX = "llm:sse:node:";
+    private static final String REPLAY_KEY_PREFIX = "llm:sse:replay:";
+    private static final Duration OWNER_TTL = Duration.ofMinutes(10); // keep-alive 주기(llm.sse.heartbeat.interval, 5분)마다 갱신
+
+    // 이 노드의 만료 시각 갱신 + 만료된 노드 정리 + 키 TTL 갱신 (다른 노드 항목은 건드리지 않음)
+    private static final byte[] CLAIM_OWNER_SCRIPT = (
+        "redis.call('zadd', KEYS[1], ARGV[2], ARGV[1]) "
+            + "redis.call('zremrangebyscore', KEYS[1], '-inf', ARGV[3]) "
+            + "return redis.call('pexpire', KEYS[1], ARGV[4])"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final Counter dropped;
+
+    @Getter
+    @Value("${llm.node-id}")
+    private String nodeId;
+
+    @Value("${llm.sse.relay.dispatch-threads:4}")
+    private int dispatchThreads;
+
+    // 채팅방 단위로 고정된 단일 스레드에서 전달하여 청크 순서 보장
+    private ExecutorService[] dispatchers;
+
+    public RedisSseRelay(StringRedisTemplate redisTemplate,
+                         RedisMessageListenerContainer listenerContainer,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.dropped = Counter.builder("llm.sse.relay.dropped")
+            .description("Relayed SSE events dropped because the target node had no subscriber")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 이 노드로 전달된 이벤트 수신 시작
+     */
+    public void subscribe(Consumer<StreamEvent> handler) {
+        dispatchers = new ExecutorService[dispatchThreads];
+        for (int i = 0; i < dispatchThreads; i++) {
+            dispatchers[i] = Executors.newSingleThreadExecutor();
+        }
+
+        listenerContainer.addMessageListener(
+            (message, pattern) -> dispatch(message.getBody(), handler),
+            new ChannelTopic(NODE_CHANNEL_PREFIX + nodeId)
+        );
+        log.info("SSE relay subscribed - nodeId: {}", nodeId);
+    }
+
+    private void dispatch(byte[] body, Consumer<StreamEvent> handler) {
+        try {
+            StreamEvent event = objectMapper.readValue(body, StreamEvent.class);
+            int stripe = Math.floorMod(event.getChatRoomId().hashCode(), dispatchers.length);
+            dispatchers[stripe].execute(() -> handler.accept(event));
+        } catch (Exception e) {
+            log.error("Failed to decode relayed SSE event", e);
+        }
+    }
+
+    /**
+     * 채팅방 소유 노드 집합에 이 노드 추가 (다른 노드에 연결된 같은 채팅방 탭의 소유권은 유지)
+     */
+    public void registerOwner(String chatRoomId) {
+        refreshOwners(List.of(chatRoomId));
+    }
+
+    /**
+     * keep-alive 배치 하나(로컬 구독자가 있는 채팅방)의 소유권을 한 번의 파이프라인으로 재등록
+     * - 노드마다 자기 항목의 만료 시각만 갱신하므로 다른 노드의 소유권을 덮어쓰거나 지우지 않음
+     */
+    public void refreshOwners(List<String> chatRoomIds) {
+        long now = System.currentTimeMillis();
+        byte[] owner = nodeId.getBytes(StandardCharsets.UTF_8);
+        byte[] expireAt = String.valueOf(now + OWNER_TTL.toMillis()).getBytes(StandardCharsets.UTF_8);
+        byte[] expiredBefore = String.valueOf(now).getBytes(StandardCharsets.UTF_8);
+        byte[] ttl = String.valueOf(OWNER_TTL.toMillis()).getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String chatRoomId : chatRoomIds) {
+                    connection.scriptingCommands().eval(CLAIM_OWNER_SCRIPT, ReturnType.INTEGER, 1,
+                        ownersKey(chatRoomId), owner, expireAt, expiredBefore, ttl);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to refresh SSE owners: {} rooms", chatRoomIds.size(), e);
+        }
+    }
+
+    /**
+     * 채팅방 소유 노드 집합에서 이 노드만 제거
+     */
+    public void releaseOwner(String chatRoomId) {
+        try {
+            redisTemplate.opsForZSet().remove(OWNERS_KEY_PREFIX + chatRoomId, nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to release SSE owner for chat room: {}", chatRoomId, e);
+        }
+    }
+
+    /**
+     * 구독자가 없는 노드를 채팅방 소유 노드에서 제거 (그 노드 항목만 지움, 다시 연결되면 register/keep-alive로 재등록)
+     */
+    public void removeOwner(String chatRoomId, String ownerNodeId) {
+        try {
+            redisTemplate.opsForZSet().remove(OWNERS_KEY_PREFIX + chatRoomId, ownerNodeId);
+        } catch (Exception e) {
+            log.warn("Failed to remove stale SSE owner {} for chat room: {}", ownerNodeId, chatRoomId, e);
+        }
+    }
+
+    /**
+     * 채팅방 SSE 연결을 보유한 다른 노드 전체 조회 (만료 시각이 지난 노드는 제외)
+     */
+    public List<String> findOwnerNodes(String chatRoomId) {
+        Set<String> owners = redisTemplate.opsForZSet()
+            .rangeByScore(OWNERS_KEY_PREFIX + chatRoomId, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        if (owners == null || owners.isEmpty()) {
+            return List.of();
+        }
+        return owners.stream()
+            .filter(owner -> !owner.equals(nodeId))
+            .toList();
+    }
+
+    private static byte[] ownersKey(String chatRoomId) {
+        return (OWNERS_KEY_PREFIX + chatRoomId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 요청의 재생 버퍼가 이 노드에 있음을 등록 (요청당 한 번)
+     */
+    public void registerReplay(String requestId, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(REPLAY_KEY_PREFIX + requestId, nodeId, ttl);
+        } catch (Exception e) {
+            log.warn("Failed to register SSE replay node for request: {}", requestId, e);
+        }
+    }
+
+    /**
+     * 요청의 재생 버퍼를 보유한 다른 노드 조회
+     */
+    public Optional<String> findReplayNode(String requestId) {
+        String holder = redisTemplate.opsForValue().get(REPLAY_KEY_PREFIX + requestId);
+        if (holder == null || holder.equals(nodeId)) {
+            return Optional.empty();
+        }
+        return Optional.of(holder);
+    }
+
+    /**
+     * 대상 노드 채널로 이벤트 전달
+     *
+     * @return 채널을 구독 중인 노드가 없으면 false (이벤트는 버려짐), Redis 오류는 로그만 남기고 true (소유권을 지우지 않도록)
+     */
+    public boolean publish(String targetNodeId, StreamEvent event) {
+        try {
+            Long receivers = redisTemplate.convertAndSend(NODE_CHANNEL_PREFIX + targetNodeId,
+                objectMapper.writeValueAsString(event));
+            if (receivers != null && receivers == 0) {
+                dropped.increment();
+                return false;
+            }
+        } catch (Exception e) {
+            log.error("Failed to relay SSE event to node: {}", targetNodeId, e);
+        }
+        return true;
+    }
+
+    /**
+     * 구독자가 없는 노드로 보낼 예정이던 이벤트를 보내지 않고 버린 경우
+     */
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dispatchers == null) {
+            return;
+        }
+        for (ExecutorService dispatcher : dispatchers) {
+            dispatcher.shutdown();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Claude 업스트림 동시 호출 수 AIMD 제한
+ * - 성공이고 첫 delta까지의 지연이 임계치 이하이며 사용률이 절반 이상이면 limit + 1 (additive increase)
+ * - 429/529/503 응답, overloaded/rate_limit 오류, 타임아웃, 지연 초과 시 limit * backoff-ratio (multiplicative decrease)
+ * - 그 외 오류(잘못된 요청 등)는 limit에 반영하지 않음
+ *
+ * 메트릭
+ * - llm.limiter.limit / llm.limiter.inflight: 현재 limit / 진행 중인 업스트림 호출 수
+ * - llm.limiter.rejections: limit에 걸려 바로 처리하지 못한 요청 수
+ * - llm.limiter.drops: limit을 줄인 횟수
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final Duration latencyThreshold;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private double limit;
+    private int inFlight;
+    private volatile Runnable releaseListener = () -> { };
+
+    private final Counter rejections;
+    private final Counter drops;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${llm.concurrency.initial-limit:8}") int initialLimit,
+                                      @Value("${llm.concurrency.min-limit:1}") int minLimit,
+                                      @Value("${llm.concurrency.max-limit:64}") int maxLimit,
+                                      @Value("${llm.concurrency.backoff-ratio:0.7}") double backoffRatio,
+                                      @Value("${llm.concurrency.latency-threshold:10s}") Duration latencyThreshold) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThreshold = latencyThreshold;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        this.rejections = Counter.builder("llm.limiter.rejections")
+            .description("LLM requests deferred because the concurrency limit was reached")
+            .register(meterRegistry);
+        this.drops = Counter.builder("llm.limiter.drops")
+            .description("Concurrency limit decreases caused by overload signals")
+            .register(meterRegistry);
+        Gauge.builder("llm.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+            .description("Current upstream concurrency limit")
+            .register(meterRegistry);
+        Gauge.builder("llm.limiter.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+            .description("Upstream LLM calls in flight")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 허용량이 남아 있으면 permit 발급 (permit은 반드시 한 번 해제)
+     */
+    public Optional<Permit> tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                rejections.increment();
+                return Optional.empty();
+            }
+            inFlight++;
+            return Optional.of(new Permit());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * permit이 해제될 때마다 호출 (대기 중인 요청 재개용)
+     */
+    public void onRelease(Runnable listener) {
+        this.releaseListener = listener;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Outcome outcome, long latencyNanos) {
+        lock.lock();
+        try {
+            if (outcome == Outcome.SUCCESS && latencyNanos > latencyThreshold.toNanos()) {
+                outcome = Outcome.DROPPED;
+            }
+            double previous = limit;
+            if (outcome == Outcome.DROPPED) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                drops.increment();
+            } else if (outcome == Outcome.SUCCESS && inFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            inFlight--;
+            if ((int) previous != (int) limit) {
+                log.info("Upstream concurrency limit changed: {} -> {} ({})", (int) previous, (int) limit, outcome);
+            }
+        } finally {
+            lock.unlock();
+        }
+        releaseListener.run();
+    }
+
+    private static boolean isOverload(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status == 429 || status == 529 || status == 503;
+        }
+        if (error instanceof TimeoutException) {
+            return true;
+        }
+        String message = error.getMessage();
+        return message != null && (message.contains("overloaded_error") || message.contains("rate_limit_error"));
+    }
+
+    private enum Outcome { SUCCESS, DROPPED, IGNORED }
+
+    /**
+     * 업스트림 호출 하나에 대한 허용권
+     */
+    public class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * 업스트림 스트림 종료 시 결과(첫 delta 지연, 오류 종류)를 반영하고 해제
+         */
+        public Flux<String> track(Flux<String> upstream) {
+            return Flux.defer(() -> {
+                long startedAt = System.nanoTime();
+                long[] firstDeltaAt = {0L};
+                return upstream
+                    .doOnNext(delta -> {
+                        if (firstDeltaAt[0] == 0L) {
+                            firstDeltaAt[0] = System.nanoTime();
+                        }
+                    })
+                    .doOnComplete(() -> complete(Outcome.SUCCESS,
+                        (firstDeltaAt[0] != 0L ? firstDeltaAt[0] : System.nanoTime()) - startedAt))
+                    .doOnError(error -> complete(isOverload(error) ? Outcome.DROPPED : Outcome.IGNORED, 0L))
+                    .doOnCancel(this::release);
+            });
+        }
+
+        /**
+         * 업스트림을 열지 않은 경우(캐시 적중, single-flight 합류, 설정 오류) 결과 반영 없이 해제
+         */
+        public void release() {
+            complete(Outcome.IGNORED, 0L);
+        }
+
+        private void complete(Outcome outcome, long latencyNanos) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release(outcome, latencyNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 스트림 하나의 delta를 모아 SSE 프레임 단위로 내보냄
+ * - 첫 delta는 즉시 전송 (TTFT 유지)
+ * - 이후 delta는 시간 창(windowMillis) 또는 바이트 임계치(maxBytes) 중 먼저 도달한 시점에 전송
+ */
+public class ChunkCoalescer {
+
+    private final Consumer<String> frameSink;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final int maxBytes;
+    private final Counter deltasReceived;
+    private final Counter framesSent;
+
+    // 프레임 순서를 지키기 위해 전송까지 락 안에서 수행
+    private final ReentrantLock lock = new ReentrantLock();
+    private final StringBuilder pending = new StringBuilder();
+    private int pendingBytes;
+    private boolean firstSent;
+    private boolean closed;
+    private ScheduledFuture<?> scheduledFlush;
+
+    ChunkCoalescer(Consumer<String> frameSink, ScheduledExecutorService scheduler,
+                   long windowMillis, int maxBytes, Counter deltasReceived, Counter framesSent) {
+        this.frameSink = frameSink;
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+        this.maxBytes = maxBytes;
+        this.deltasReceived = deltasReceived;
+        this.framesSent = framesSent;
+    }
+
+    public void append(String delta) {
+        deltasReceived.increment();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            pending.append(delta);
+            pendingBytes += utf8Length(delta);
+
+            if (!firstSent || pendingBytes >= maxBytes || windowMillis <= 0) {
+                firstSent = true;
+                flushLocked();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 남은 delta를 전송하고 종료. 이후 append는 무시됨
+     */
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            flushLocked();
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush() {
+        lock.lock();
+        try {
+            if (!closed) {
+                flushLocked();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        String frame = pending.toString();
+        pending.setLength(0);
+        pendingBytes = 0;
+
+        frameSink.accept(frame);
+        framesSent.increment();
+    }
+
+    private static int utf8Length(String text) {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+}
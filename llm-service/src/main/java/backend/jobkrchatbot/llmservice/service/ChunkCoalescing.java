@@ -0,0 +1,58 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * SSE 청크 병합 설정 및 메트릭
+ * - llm.stream.deltas.received: Claude에서 받은 content_block_delta 수
+ * - llm.stream.frames.sent: 실제로 전송한 chunk 프레임 수
+ */
+@Component
+public class ChunkCoalescing {
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxBytes;
+    private final ScheduledExecutorService scheduler;
+    private final Counter deltasReceived;
+    private final Counter framesSent;
+
+    public ChunkCoalescing(MeterRegistry meterRegistry,
+                           @Value("${llm.streaming.coalesce.enabled:true}") boolean enabled,
+                           @Value("${llm.streaming.coalesce.window-ms:30}") long windowMillis,
+                           @Value("${llm.streaming.coalesce.max-bytes:512}") int maxBytes,
+                           @Value("${llm.streaming.coalesce.flush-threads:2}") int flushThreads) {
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.maxBytes = maxBytes;
+        this.scheduler = Executors.newScheduledThreadPool(flushThreads, new CustomizableThreadFactory("sse-coalesce-"));
+        this.deltasReceived = Counter.builder("llm.stream.deltas.received")
+            .description("Claude content_block_delta events received")
+            .register(meterRegistry);
+        this.framesSent = Counter.builder("llm.stream.frames.sent")
+            .description("SSE chunk frames sent to clients")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 스트림 하나에 대한 병합기 생성 (비활성화 시 delta마다 바로 전송)
+     */
+    public ChunkCoalescer open(Consumer<String> frameSink) {
+        return new ChunkCoalescer(frameSink, scheduler, enabled ? windowMillis : 0, maxBytes,
+            deltasReceived, framesSent);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,283 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import backend.jobkrchatbot.llmservice.dto.ConversationTurn;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅방별 롤링 대화 컨텍스트 (chat-service 히스토리를 다시 조회하지 않고 노드 내에서 증분 유지)
+ * - handleLlmRequest에서 사용자 턴, 응답 완료 시 assistant 턴을 추가
+ * - 턴 토큰 합이 예산(max-tokens - 요약 토큰)을 넘으면 오래된 턴부터 요약으로 압축
+ * - 요약: 턴마다 앞부분만 남긴 줄 목록 (사용자 턴을 더 길게 보존, 요약 예산 초과 시 오래된 코치 줄부터 제거)
+ *   Claude 추가 호출 없이 만들고, 바뀔 때만 문자열을 다시 조립
+ * - llm-request는 채팅방 ID가 키라 같은 채팅방은 같은 파티션/노드에서 처리됨
+ *   리밸런스로 노드가 바뀌면 새 노드는 빈 컨텍스트에서 다시 시작
+ *
+ * 메트릭
+ * - llm.context.rooms: 컨텍스트를 보관 중인 채팅방 수
+ * - llm.context.compactions: 요약으로 압축된 턴 수
+ * - llm.context.prompt.tokens: 요청마다 조립된 messages 추정 토큰 수
+ */
+@Slf4j
+@Component
+public class ConversationMemory {
+
+    private static final String SUMMARY_HEADER = "[이전 대화 요약]";
+    private static final String USER_LINE = "- 사용자: ";
+    private static final String ASSISTANT_LINE = "- 코치: ";
+
+    private final boolean enabled;
+    private final int maxTokens;
+    private final int summaryMaxTokens;
+    private final int summaryUserChars;
+    private final int summaryAssistantChars;
+    private final int maxRooms;
+    private final long idleTtlMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, RoomContext> rooms;
+
+    private final Counter compactions;
+    private final DistributionSummary promptTokens;
+
+    public ConversationMemory(MeterRegistry meterRegistry,
+                              @Value("${llm.context.enabled:true}") boolean enabled,
+                              @Value("${llm.context.max-tokens:3000}") int maxTokens,
+                              @Value("${llm.context.summary.max-tokens:800}") int summaryMaxTokens,
+                              @Value("${llm.context.summary.user-chars:200}") int summaryUserChars,
+                              @Value("${llm.context.summary.assistant-chars:80}") int summaryAssistantChars,
+                              @Value("${llm.context.max-rooms:10000}") int maxRooms,
+                              @Value("${llm.context.idle-ttl:2h}") Duration idleTtl) {
+        this.enabled = enabled;
+        this.maxTokens = maxTokens;
+        this.summaryMaxTokens = summaryMaxTokens;
+        this.summaryUserChars = summaryUserChars;
+        this.summaryAssistantChars = summaryAssistantChars;
+        this.maxRooms = maxRooms;
+        this.idleTtlMillis = idleTtl.toMillis();
+        this.rooms = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RoomContext> eldest) {
+                return size() > ConversationMemory.this.maxRooms;
+            }
+        };
+
+        this.compactions = Counter.builder("llm.context.compactions")
+            .description("Conversation turns compacted into the rolling summary")
+            .register(meterRegistry);
+        this.promptTokens = DistributionSummary.builder("llm.context.prompt.tokens")
+            .description("Estimated input tokens of assembled conversation messages")
+            .register(meterRegistry);
+        Gauge.builder("llm.context.rooms", this, ConversationMemory::roomCount)
+            .description("Chat rooms with a rolling conversation context")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 사용자 턴을 추가하고 이번 요청에 보낼 messages 조립 (요약 → 남은 턴 → 이번 사용자 턴)
+     */
+    public Snapshot appendUser(String chatRoomId, String content) {
+        ConversationTurn turn = new ConversationTurn(ConversationTurn.USER, content, TokenEstimator.estimate(content));
+        if (!enabled) {
+            return new Snapshot(List.of(turn), false, turn.getTokens());
+        }
+
+        lock.lock();
+        try {
+            RoomContext room = roomOf(chatRoomId, true);
+            room.append(turn);
+            compact(room);
+
+            List<ConversationTurn> messages = new ArrayList<>(room.turns.size() + 1);
+            int tokens = room.turnTokens;
+            if (!room.summaryLines.isEmpty()) {
+                ConversationTurn summary = room.summaryTurn();
+                messages.add(summary);
+                tokens += summary.getTokens();
+            }
+            messages.addAll(room.turns);
+            promptTokens.record(tokens);
+            return new Snapshot(messages, messages.size() > 1, tokens);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 완료된 응답을 assistant 턴으로 추가 (컨텍스트가 만료/축출된 채팅방은 무시)
+     */
+    public void appendAssistant(String chatRoomId, String content) {
+        if (!enabled || content == null || content.isEmpty()) {
+            return;
+        }
+        ConversationTurn turn = new ConversationTurn(ConversationTurn.ASSISTANT, content, TokenEstimator.estimate(content));
+        lock.lock();
+        try {
+            RoomContext room = roomOf(chatRoomId, false);
+            if (room != null) {
+                room.append(turn);
+                compact(room);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private RoomContext roomOf(String chatRoomId, boolean create) {
+        long now = System.currentTimeMillis();
+        RoomContext room = rooms.get(chatRoomId);
+        if (room != null && now - room.lastAccessAt > idleTtlMillis) {
+            rooms.remove(chatRoomId);
+            room = null;
+        }
+        if (room == null && create) {
+            room = new RoomContext();
+            rooms.put(chatRoomId, room);
+        }
+        if (room != null) {
+            room.lastAccessAt = now;
+        }
+        return room;
+    }
+
+    /**
+     * 예산을 넘는 동안 가장 오래된 턴을 요약으로 이동 (마지막 턴은 유지)
+     * - messages가 user 턴으로 시작하도록 맨 앞의 assistant 턴도 요약으로 이동
+     */
+    private void compact(RoomContext room) {
+        while (room.turns.size() > 1 && room.turnTokens > maxTokens - room.summaryTokens) {
+            summarize(room, room.removeFirst());
+        }
+        while (!room.turns.isEmpty() && ConversationTurn.ASSISTANT.equals(room.turns.peekFirst().getRole())) {
+            summarize(room, room.removeFirst());
+        }
+    }
+
+    private void summarize(RoomContext room, ConversationTurn turn) {
+        boolean user = ConversationTurn.USER.equals(turn.getRole());
+        String line = (user ? USER_LINE : ASSISTANT_LINE)
+            + abbreviate(turn.getContent(), user ? summaryUserChars : summaryAssistantChars);
+        room.addSummaryLine(new SummaryLine(line, user, TokenEstimator.estimate(line)));
+        compactions.increment();
+
+        while (room.summaryTokens > summaryMaxTokens && room.summaryLines.size() > 1) {
+            room.removeSummaryLine();
+        }
+    }
+
+    private static String abbreviate(String content, int maxChars) {
+        String flat = content.replaceAll("\\s+", " ").trim();
+        if (flat.length() <= maxChars) {
+            return flat;
+        }
+        int end = Character.isHighSurrogate(flat.charAt(maxChars - 1)) ? maxChars - 1 : maxChars;
+        return flat.substring(0, end) + "…";
+    }
+
+    private double roomCount() {
+        lock.lock();
+        try {
+            return rooms.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 이번 요청에 보낼 messages와 이전 대화 포함 여부
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final List<ConversationTurn> messages;
+        // 요약이나 이전 턴이 있으면 같은 질문이라도 답이 달라지므로 응답 캐시/single-flight 대상에서 제외
+        private final boolean withHistory;
+        private final int tokens;
+    }
+
+    private static final class SummaryLine {
+        private final String text;
+        private final boolean user;
+        private final int tokens;
+
+        private SummaryLine(String text, boolean user, int tokens) {
+            this.text = text;
+            this.user = user;
+            this.tokens = tokens;
+        }
+    }
+
+    private static final class RoomContext {
+        private final ArrayDeque<ConversationTurn> turns = new ArrayDeque<>();
+        private final ArrayDeque<SummaryLine> summaryLines = new ArrayDeque<>();
+        private int turnTokens;
+        private int summaryTokens;
+        private long lastAccessAt;
+        private ConversationTurn summaryTurn; // 요약이 바뀔 때만 다시 조립
+
+        private void append(ConversationTurn turn) {
+            turns.addLast(turn);
+            turnTokens += turn.getTokens();
+        }
+
+        private ConversationTurn removeFirst() {
+            ConversationTurn turn = turns.removeFirst();
+            turnTokens -= turn.getTokens();
+            return turn;
+        }
+
+        private void addSummaryLine(SummaryLine line) {
+            summaryLines.addLast(line);
+            summaryTokens += line.tokens;
+            summaryTurn = null;
+        }
+
+        /**
+         * 요약 예산 초과 시 가장 오래된 코치 줄을 먼저, 없으면 가장 오래된 줄 제거
+         */
+        private void removeSummaryLine() {
+            SummaryLine removed = null;
+            Iterator<SummaryLine> iterator = summaryLines.iterator();
+            while (iterator.hasNext()) {
+                SummaryLine line = iterator.next();
+                if (!line.user) {
+                    iterator.remove();
+                    removed = line;
+                    break;
+                }
+            }
+            if (removed == null) {
+                removed = summaryLines.removeFirst();
+            }
+            summaryTokens -= removed.tokens;
+            summaryTurn = null;
+        }
+
+        private ConversationTurn summaryTurn() {
+            if (summaryTurn == null) {
+                StringBuilder text = new StringBuilder(SUMMARY_HEADER);
+                for (SummaryLine line : summaryLines) {
+                    text.append('\n').append(line.text);
+                }
+                summaryTurn = new ConversationTurn(ConversationTurn.USER, text.toString(), summaryTokens + TokenEstimator.MESSAGE_OVERHEAD);
+            }
+            return summaryTurn;
+        }
+    }
+}
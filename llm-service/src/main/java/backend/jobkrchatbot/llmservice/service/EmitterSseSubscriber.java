@@ -0,0 +1,202 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spring MVC SseEmitter 기반 연결 (servlet 모드)
+ * - send는 OutboundBuffer에 넣기만 하고, 블로킹 emitter.send는 writer 스레드에서 대기 프레임이 있을 때만 수행
+ *   (느린 클라이언트는 자기 writer 스레드만 묶고 스트림 생성/다른 연결 전송을 막지 않음)
+ * - drain 한 번에 drain-batch개까지만 쓰고 남으면 다시 예약, 쓰기 하나가 write-timeout을 넘기면 watchdog가 실패 처리
+ * - writer 풀이 가득 차 예약이 거절되면 overflow-policy를 바로 적용하고 다음 send 때 다시 예약
+ *   (완료 예약이 거절되면 emitter를 닫고 남은 프레임은 Last-Event-ID 재연결 재생으로 넘김)
+ */
+@Slf4j
+public class EmitterSseSubscriber implements SseSubscriber {
+
+    // writeState: 0이면 쓰는 중이 아님, 양수면 진행 중인 emitter.send 시작 시각, 음수면 watchdog가 멈춘 쓰기로 판정
+    private static final long STALLED = -1L;               // writer 스레드를 임시로 늘림 (쓰기가 끝나면 되돌림)
+    private static final long STALLED_UNCOMPENSATED = -2L; // 임시 스레드 한도에 걸려 늘리지 못함
+
+    @Getter
+    private final SseEmitter emitter;
+    private final OutboundBuffer buffer;
+    private final Executor writer;
+    private final OutboundBuffering buffering;
+
+    // 0이 아니면 drain 예약/실행 중 (실행 중 추가된 프레임은 같은 drain이 이어서 처리)
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong writeState = new AtomicLong();
+    private volatile boolean completing;
+    private volatile boolean failed;
+    // emitter는 쓰는 중 lock을 잡으므로 닫기는 drain 스레드에서 (생산자/watchdog가 멈춘 쓰기 뒤에서 기다리지 않도록)
+    private volatile boolean disconnecting;
+    private volatile boolean timedOut;
+
+    public EmitterSseSubscriber(SseEmitter emitter, OutboundBuffer buffer, OutboundBuffering buffering) {
+        this.emitter = emitter;
+        this.buffer = buffer;
+        this.writer = buffering.getWriter();
+        this.buffering = buffering;
+    }
+
+    @Override
+    public void send(SseFrame frame) throws IOException {
+        if (failed) {
+            throw new IOException("SSE emitter already failed");
+        }
+        if (!buffer.offer(frame)) {
+            // disconnect 정책: 클라이언트가 Last-Event-ID로 재연결하도록 연결 종료
+            failed = true;
+            disconnecting = true;
+            schedule();
+            throw new IOException("SSE outbound buffer overflow, disconnected");
+        }
+        schedule();
+    }
+
+    @Override
+    public void complete() {
+        completing = true;
+        schedule();
+    }
+
+    @Override
+    public void release() {
+        buffer.close();
+    }
+
+    private void schedule() {
+        if (pending.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            try {
+                writer.execute(this::drain);
+                return;
+            } catch (RejectedExecutionException e) {
+                buffering.recordWriterRejected();
+                if (completing || !buffer.shed()) {
+                    // pending을 0으로 돌리지 않음: 이후 send는 failed로 거절되고 complete는 다시 예약하지 않음
+                    failed = true;
+                    buffer.close();
+                    emitter.complete();
+                    return;
+                }
+            }
+            // 실행 중인 drain이 없으므로 예약을 되돌림, 그 사이 send/complete가 있었으면 completing을 다시 보고 재시도
+            missed = pending.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drain() {
+        buffering.drainStarted(this);
+        int missed = 1;
+        int written = 0;
+        do {
+            try {
+                SseFrame frame;
+                while (!failed && (frame = buffer.poll()) != null) {
+                    write(frame);
+                    if (++written >= buffering.getDrainBatch() && !buffer.isEmpty()) {
+                        // 다음 drain이 먼저 시작될 수 있으므로 watchdog 대상에서 먼저 빠짐
+                        buffering.drainFinished(this);
+                        if (yieldWriter()) {
+                            return;
+                        }
+                        buffering.drainStarted(this);
+                        written = 0;
+                    }
+                }
+                if (completing && !failed && buffer.isEmpty()) {
+                    emitter.complete();
+                }
+            } catch (Exception e) {
+                // 이후 send는 실패로 처리되어 레지스트리에서 제거됨 (emitter onError 콜백도 호출됨)
+                log.debug("SSE emitter write failed: {}", e.getMessage());
+                failed = true;
+                buffer.close();
+            }
+            closeIfRequested();
+            missed = pending.addAndGet(-missed);
+        } while (missed != 0);
+        buffering.drainFinished(this);
+    }
+
+    /**
+     * disconnect 정책/쓰기 타임아웃으로 요청된 닫기 (멈췄던 쓰기가 끝난 뒤 drain 스레드에서 한 번만)
+     */
+    private void closeIfRequested() {
+        try {
+            if (timedOut) {
+                timedOut = false;
+                disconnecting = false;
+                emitter.completeWithError(new IOException("SSE write timed out"));
+            } else if (disconnecting) {
+                disconnecting = false;
+                emitter.complete();
+            }
+        } catch (Exception e) {
+            log.debug("Failed to close SSE emitter: {}", e.getMessage());
+        }
+    }
+
+    private void write(SseFrame frame) throws IOException {
+        writeState.set(System.currentTimeMillis());
+        try {
+            emitter.send(frame.forEmitter());
+        } finally {
+            if (writeState.getAndSet(0) == STALLED) {
+                buffering.stalledWriteFinished();
+            }
+        }
+    }
+
+    /**
+     * drain-batch개를 썼는데 남아 있으면 대기열 뒤로 다시 예약 (pending은 유지되어 다른 send가 중복 예약하지 않음)
+     *
+     * @return 다시 예약했으면 true, writer가 가득 차 거절되면 이 스레드에서 계속 씀
+     */
+    private boolean yieldWriter() {
+        try {
+            writer.execute(this::drain);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * watchdog: 진행 중인 쓰기가 timeoutMillis를 넘겼으면 연결을 실패 처리
+     * - 이후 send는 실패해 레지스트리에서 제거되고, emitter는 멈춘 쓰기가 끝난 뒤 drain이 닫음
+     */
+    boolean abortIfStalled(long now, long timeoutMillis) {
+        long startedAt = writeState.get();
+        if (startedAt <= 0 || now - startedAt <= timeoutMillis) {
+            return false;
+        }
+        boolean compensated = buffering.addStalledWriter();
+        if (!writeState.compareAndSet(startedAt, compensated ? STALLED : STALLED_UNCOMPENSATED)) {
+            // 그 사이 쓰기가 끝남
+            if (compensated) {
+                buffering.stalledWriteFinished();
+            }
+            return false;
+        }
+        log.warn("SSE write exceeded {}ms, failing connection", timeoutMillis);
+        timedOut = true;
+        failed = true;
+        buffer.close();
+        // 쓰기가 방금 끝나 drain이 플래그를 못 보고 끝났을 수 있으므로 닫기를 다시 예약
+        schedule();
+        return true;
+    }
+}
@@ -0,0 +1,216 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSE keep-alive용 해시 타이밍 휠
+ * - interval을 wheel-size개 슬롯으로 나누고, 연결은 채팅방 ID 해시로 정한 슬롯에 고정되어 한 바퀴(interval)마다 ping
+ *   → 연결 수와 관계없이 틱마다 interval/wheel-size 분량만 처리하고, ping이 주기 전체에 고르게 퍼짐
+ * - 연결은 등록 순서대로 worker 샤드에 배정, 샤드마다 단일 스레드가 전송 (느린 클라이언트는 자기 샤드만 지연)
+ *   이전 틱 배치가 아직 전송 중인 샤드는 이번 틱을 건너뜀 (다음 바퀴에 다시 ping, 큐가 쌓이지 않음)
+ * - ping 프레임은 미리 만들어 모든 연결이 공유 (SseFrame.HEARTBEAT)
+ * - 전송 실패한 연결은 휠에서 빼고 eviction 스레드에서 정리 (Redis 소유권 해제가 전송 스레드를 막지 않도록)
+ *
+ * 메트릭
+ * - llm.sse.heartbeat.connections: 휠에 등록된 연결 수
+ * - llm.sse.heartbeat.sent / failures / skipped: 전송 / 실패(축출) / 샤드 지연으로 건너뛴 ping 수
+ */
+@Slf4j
+@Component
+public class HeartbeatWheel {
+
+    /**
+     * 전송 결과 콜백 (SseConnectionRegistry)
+     */
+    public interface Listener {
+
+        /**
+         * 샤드 배치 하나의 ping 전송 성공 채팅방 (worker 스레드에서 호출)
+         */
+        void onHeartbeat(List<String> chatRoomIds);
+
+        /**
+         * ping 전송에 실패한 연결 (eviction 스레드에서 호출)
+         */
+        void onHeartbeatFailed(String chatRoomId, SseSubscriber subscriber);
+    }
+
+    private final long tickMillis;
+    private final List<Set<Beat>> slots;
+    private final ConcurrentHashMap<SseSubscriber, Beat> beats = new ConcurrentHashMap<>();
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private int cursor; // 틱 스레드에서만 접근
+
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService[] workers;
+    private final AtomicBoolean[] busy;
+    private final ExecutorService evictor;
+    private volatile Listener listener;
+
+    private final Counter sent;
+    private final Counter failures;
+    private final Counter skipped;
+
+    public HeartbeatWheel(MeterRegistry meterRegistry,
+                          @Value("${llm.sse.heartbeat.interval:5m}") Duration interval,
+                          @Value("${llm.sse.heartbeat.wheel-size:300}") int wheelSize,
+                          @Value("${llm.sse.heartbeat.workers:4}") int workerCount) {
+        this.tickMillis = Math.max(1, interval.toMillis() / wheelSize);
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(ConcurrentHashMap.newKeySet());
+        }
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sse-heartbeat-tick-"));
+        this.workers = new ExecutorService[workerCount];
+        this.busy = new AtomicBoolean[workerCount];
+        CustomizableThreadFactory workerThreads = new CustomizableThreadFactory("sse-heartbeat-");
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = Executors.newSingleThreadExecutor(workerThreads);
+            busy[i] = new AtomicBoolean();
+        }
+        this.evictor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("sse-heartbeat-evict-"));
+
+        this.sent = heartbeats(meterRegistry, "llm.sse.heartbeat.sent", "Heartbeat pings written");
+        this.failures = heartbeats(meterRegistry, "llm.sse.heartbeat.failures", "Heartbeat pings that failed and evicted the connection");
+        this.skipped = heartbeats(meterRegistry, "llm.sse.heartbeat.skipped", "Heartbeat pings skipped because the shard was still busy");
+        Gauge.builder("llm.sse.heartbeat.connections", beats, ConcurrentHashMap::size)
+            .description("SSE connections on the heartbeat wheel")
+            .register(meterRegistry);
+    }
+
+    private static Counter heartbeats(MeterRegistry meterRegistry, String name, String description) {
+        return Counter.builder(name)
+            .description(description)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 틱 시작 (SseConnectionRegistry 초기화 시 한 번)
+     */
+    public void start(Listener listener) {
+        this.listener = listener;
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("SSE heartbeat wheel started - slots: {}, tick: {}ms, workers: {}", slots.size(), tickMillis, workers.length);
+    }
+
+    public void schedule(String chatRoomId, SseSubscriber subscriber) {
+        Beat beat = new Beat(chatRoomId, subscriber, Math.floorMod(chatRoomId.hashCode(), slots.size()),
+            Math.floorMod(nextShard.getAndIncrement(), workers.length));
+        if (beats.putIfAbsent(subscriber, beat) == null) {
+            slots.get(beat.slot).add(beat);
+        }
+    }
+
+    public void cancel(SseSubscriber subscriber) {
+        Beat beat = beats.remove(subscriber);
+        if (beat != null) {
+            slots.get(beat.slot).remove(beat);
+        }
+    }
+
+    private void tick() {
+        try {
+            Set<Beat> due = slots.get(cursor);
+            cursor = (cursor + 1) % slots.size();
+            if (due.isEmpty()) {
+                return;
+            }
+
+            List<List<Beat>> batches = new ArrayList<>(workers.length);
+            for (int i = 0; i < workers.length; i++) {
+                batches.add(null);
+            }
+            for (Beat beat : due) {
+                List<Beat> batch = batches.get(beat.shard);
+                if (batch == null) {
+                    batch = new ArrayList<>();
+                    batches.set(beat.shard, batch);
+                }
+                batch.add(beat);
+            }
+
+            for (int shard = 0; shard < workers.length; shard++) {
+                List<Beat> batch = batches.get(shard);
+                if (batch == null) {
+                    continue;
+                }
+                if (!busy[shard].compareAndSet(false, true)) {
+                    skipped.increment(batch.size());
+                    continue;
+                }
+                int owner = shard;
+                workers[shard].execute(() -> beat(owner, batch));
+            }
+        } catch (Exception e) {
+            // 예외가 scheduleAtFixedRate 밖으로 나가면 이후 틱이 모두 취소됨
+            log.error("SSE heartbeat tick failed", e);
+        }
+    }
+
+    private void beat(int shard, List<Beat> batch) {
+        try {
+            List<String> alive = new ArrayList<>(batch.size());
+            for (Beat beat : batch) {
+                try {
+                    beat.subscriber.send(SseFrame.HEARTBEAT);
+                    alive.add(beat.chatRoomId);
+                } catch (Exception e) {
+                    failures.increment();
+                    cancel(beat.subscriber);
+                    evictor.execute(() -> listener.onHeartbeatFailed(beat.chatRoomId, beat.subscriber));
+                }
+            }
+            sent.increment(alive.size());
+            if (!alive.isEmpty()) {
+                listener.onHeartbeat(alive);
+            }
+        } catch (Exception e) {
+            log.warn("SSE heartbeat batch failed", e);
+        } finally {
+            busy[shard].set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdown();
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        evictor.shutdown();
+    }
+
+    private static final class Beat {
+        private final String chatRoomId;
+        private final SseSubscriber subscriber;
+        private final int slot;
+        private final int shard;
+
+        private Beat(String chatRoomId, SseSubscriber subscriber, int slot, int shard) {
+            this.chatRoomId = chatRoomId;
+            this.subscriber = subscriber;
+            this.slot = slot;
+            this.shard = shard;
+        }
+    }
+}
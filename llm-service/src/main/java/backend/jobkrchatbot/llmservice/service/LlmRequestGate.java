@@ -0,0 +1,138 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * llm-request 처리 입구의 백프레셔
+ * - AdaptiveConcurrencyLimiter에서 permit을 받으면 바로 처리
+ * - limit에 걸리면 요청을 대기열에 두고 llm-request 리스너 컨테이너를 일시정지 (새 poll 중단)
+ * - permit이 해제되면 대기열을 비우고, 다 비우면 컨테이너 재개
+ * - 대기열 크기는 일시정지 전에 이미 poll된 레코드 수(max-poll-records)로 제한됨
+ */
+@Slf4j
+@Component
+public class LlmRequestGate {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Consumer<AdaptiveConcurrencyLimiter.Permit>> pending = new ArrayDeque<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("llm-dispatch-"));
+
+    public LlmRequestGate(AdaptiveConcurrencyLimiter limiter,
+                          KafkaListenerEndpointRegistry listenerRegistry,
+                          MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.listenerRegistry = listenerRegistry;
+        Gauge.builder("llm.limiter.queued", this, LlmRequestGate::pendingSize)
+            .description("LLM requests waiting for an upstream permit")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        limiter.onRelease(() -> dispatcher.execute(this::drain));
+    }
+
+    /**
+     * permit을 받을 수 있으면 호출 스레드에서 바로 실행, 아니면 대기열에 넣고 소비 일시정지
+     */
+    public void submit(Consumer<AdaptiveConcurrencyLimiter.Permit> task) {
+        AdaptiveConcurrencyLimiter.Permit permit = null;
+        lock.lock();
+        try {
+            // 먼저 들어온 요청이 대기 중이면 순서를 지키기 위해 뒤에 줄 세움
+            if (pending.isEmpty()) {
+                permit = limiter.tryAcquire().orElse(null);
+            }
+            if (permit == null) {
+                pending.add(task);
+                pauseConsumption();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (permit != null) {
+            run(task, permit);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Consumer<AdaptiveConcurrencyLimiter.Permit> task;
+            AdaptiveConcurrencyLimiter.Permit permit;
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    resumeConsumption();
+                    return;
+                }
+                Optional<AdaptiveConcurrencyLimiter.Permit> acquired = limiter.tryAcquire();
+                if (acquired.isEmpty()) {
+                    return;
+                }
+                permit = acquired.get();
+                task = pending.poll();
+            } finally {
+                lock.unlock();
+            }
+            run(task, permit);
+        }
+    }
+
+    private void run(Consumer<AdaptiveConcurrencyLimiter.Permit> task, AdaptiveConcurrencyLimiter.Permit permit) {
+        try {
+            task.accept(permit);
+        } catch (Exception e) {
+            log.error("Error dispatching LLM request", e);
+            permit.release();
+        }
+    }
+
+    private void pauseConsumption() {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(LlmService.LLM_REQUEST_LISTENER_ID);
+        if (container != null && !container.isPauseRequested()) {
+            container.pause();
+            log.info("Upstream concurrency limit reached - pausing llm-request consumption");
+        }
+    }
+
+    private void resumeConsumption() {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(LlmService.LLM_REQUEST_LISTENER_ID);
+        if (container != null && container.isPauseRequested()) {
+            container.resume();
+            log.info("Upstream permits available - resuming llm-request consumption");
+        }
+    }
+
+    private double pendingSize() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+}
@@ -0,0 +1,232 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * llm-request 레코드의 처리 상태 추적 (수동 ack)
+ * - offset은 llm-response / llm-error 발행이 성공한 뒤에만 ack
+ * - 발행 실패 시 publish-retries 안에서 backoff 후 재발행, 끝내 실패하면 DLT로 보낸 뒤 ack
+ *   (asyncAcks에서는 ack되지 않은 offset 하나가 뒤 레코드의 커밋을 막고 컨테이너가 파티션을 멈춰 두므로 미ack로 남기지 않음)
+ * - 파티션별 처리 중 요청 수가 max-in-flight-per-partition에 도달하면 해당 파티션만 일시정지
+ * - requestId 중복 제거 창: 처리 중이거나 최근 완료된 requestId가 다시 오면 바로 ack 후 건너뜀
+ *   (같은 채팅방 요청은 같은 파티션으로 들어오므로 노드 내 창으로 재전송/재시도 중복을 거름)
+ *
+ * 메트릭
+ * - llm.request.inflight: ack 대기 중인 요청 수
+ * - llm.request.duplicates: 중복으로 건너뛴 요청 수
+ * - llm.request.publish.retries: 결과 재발행 횟수
+ * - llm.request.abandoned: 재발행까지 실패해 DLT로 보내고 ack한 요청 수
+ */
+@Slf4j
+@Component
+public class LlmRequestTracker {
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final int maxInFlightPerPartition;
+    private final int dedupeMaxEntries;
+    private final long dedupeTtlMillis;
+    private final int publishRetries;
+    private final long publishBackoffMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Tracked> inFlight = new HashMap<>();
+    private final Map<TopicPartition, Integer> partitionInFlight = new HashMap<>();
+    private final LinkedHashMap<String, Long> completed;
+
+    private final Counter duplicates;
+    private final Counter publishRetried;
+    private final Counter abandoned;
+
+    public LlmRequestTracker(KafkaListenerEndpointRegistry listenerRegistry,
+                             MeterRegistry meterRegistry,
+                             @Value("${llm.kafka.request.max-in-flight-per-partition:16}") int maxInFlightPerPartition,
+                             @Value("${llm.kafka.request.dedupe.max-entries:10000}") int dedupeMaxEntries,
+                             @Value("${llm.kafka.request.dedupe.ttl:10m}") Duration dedupeTtl,
+                             @Value("${llm.kafka.request.publish-retries:3}") int publishRetries,
+                             @Value("${llm.kafka.request.publish-backoff:500ms}") Duration publishBackoff) {
+        this.listenerRegistry = listenerRegistry;
+        this.maxInFlightPerPartition = maxInFlightPerPartition;
+        this.dedupeMaxEntries = dedupeMaxEntries;
+        this.dedupeTtlMillis = dedupeTtl.toMillis();
+        this.publishRetries = publishRetries;
+        this.publishBackoffMillis = publishBackoff.toMillis();
+        this.completed = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > LlmRequestTracker.this.dedupeMaxEntries;
+            }
+        };
+
+        this.duplicates = Counter.builder("llm.request.duplicates")
+            .description("Redelivered llm-request records skipped by requestId")
+            .register(meterRegistry);
+        this.publishRetried = Counter.builder("llm.request.publish.retries")
+            .description("Result publishes retried after a failure")
+            .register(meterRegistry);
+        this.abandoned = Counter.builder("llm.request.abandoned")
+            .description("llm-request records acknowledged after every publish attempt failed")
+            .register(meterRegistry);
+        Gauge.builder("llm.request.inflight", this, LlmRequestTracker::inFlightSize)
+            .description("llm-request records waiting for acknowledgement")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 새 요청 등록 (중복이면 바로 ack하고 false 반환)
+     */
+    public boolean accept(String requestId, TopicPartition partition, Acknowledgment ack) {
+        boolean pause;
+        lock.lock();
+        try {
+            if (inFlight.containsKey(requestId) || isRecentlyCompleted(requestId)) {
+                duplicates.increment();
+                log.info("Duplicate LLM request skipped: {} ({})", requestId, partition);
+                ack.acknowledge();
+                return false;
+            }
+            inFlight.put(requestId, new Tracked(partition, ack));
+            int count = partitionInFlight.merge(partition, 1, Integer::sum);
+            pause = count == maxInFlightPerPartition;
+        } finally {
+            lock.unlock();
+        }
+
+        if (pause) {
+            withContainer(container -> container.pausePartition(partition));
+            log.info("Max in-flight requests reached - pausing partition {}", partition);
+        }
+        return true;
+    }
+
+    /**
+     * 결과 발행 성공 (또는 발행할 대상이 없음) - offset ack 후 중복 제거 창에 기록
+     */
+    public void acknowledge(String requestId) {
+        Tracked tracked = finish(requestId, true);
+        if (tracked != null) {
+            tracked.ack.acknowledge();
+        }
+    }
+
+    /**
+     * 결과 발행 실패 - 재시도 횟수가 남았으면 backoff(attempt마다 2배) 후 republish 실행
+     *
+     * @param attempt 실패한 발행이 몇 번째 재시도였는지 (첫 발행은 0)
+     * @return false면 재시도 소진 (DLT로 보낸 뒤 abandon 호출)
+     */
+    public boolean retry(String requestId, int attempt, Runnable republish) {
+        if (attempt >= publishRetries || !isInFlight(requestId)) {
+            return false;
+        }
+        publishRetried.increment();
+        long delay = publishBackoffMillis << Math.min(attempt, 16);
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(republish);
+        return true;
+    }
+
+    /**
+     * 재발행까지 실패 - 파티션이 멈추지 않도록 ack (레코드는 호출 측에서 DLT로 보냄)
+     * - 중복 제거 창에는 넣지 않음 (DLT에서 다시 넣은 요청은 새로 처리)
+     */
+    public void abandon(String requestId) {
+        Tracked tracked = finish(requestId, false);
+        if (tracked != null) {
+            abandoned.increment();
+            log.error("LLM request {} abandoned after {} publish retries ({})", requestId, publishRetries, tracked.partition);
+            tracked.ack.acknowledge();
+        }
+    }
+
+    private boolean isInFlight(String requestId) {
+        lock.lock();
+        try {
+            return inFlight.containsKey(requestId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Tracked finish(String requestId, boolean success) {
+        Tracked tracked;
+        boolean resume;
+        lock.lock();
+        try {
+            tracked = inFlight.remove(requestId);
+            if (tracked == null) {
+                return null;
+            }
+            if (success) {
+                completed.put(requestId, System.currentTimeMillis() + dedupeTtlMillis);
+            }
+            int count = partitionInFlight.merge(tracked.partition, -1, Integer::sum);
+            if (count <= 0) {
+                partitionInFlight.remove(tracked.partition);
+            }
+            resume = count == maxInFlightPerPartition - 1;
+        } finally {
+            lock.unlock();
+        }
+
+        if (resume) {
+            TopicPartition partition = tracked.partition;
+            withContainer(container -> container.resumePartition(partition));
+        }
+        return tracked;
+    }
+
+    private boolean isRecentlyCompleted(String requestId) {
+        Long expiresAt = completed.get(requestId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt < System.currentTimeMillis()) {
+            completed.remove(requestId);
+            return false;
+        }
+        return true;
+    }
+
+    private void withContainer(Consumer<MessageListenerContainer> action) {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(LlmService.LLM_REQUEST_LISTENER_ID);
+        if (container != null) {
+            action.accept(container);
+        }
+    }
+
+    private double inFlightSize() {
+        lock.lock();
+        try {
+            return inFlight.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Tracked {
+        private final TopicPartition partition;
+        private final Acknowledgment ack;
+
+        private Tracked(TopicPartition partition, Acknowledgment ack) {
+            this.partition = partition;
+            this.ack = ack;
+        }
+    }
+}
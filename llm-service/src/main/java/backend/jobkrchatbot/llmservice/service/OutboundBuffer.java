@@ -0,0 +1,165 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SSE 연결 하나의 송신 대기열 (max-bytes 한도, 초과 시 OutboundBuffering.policy 적용)
+ * - 생산자(스트림/keep-alive)는 offer만 하고, 연결의 writer(servlet 스레드 또는 reactive 요청 수요)가 poll로 꺼내 씀
+ * - 대기 중인 프레임이 있으면 ping은 넣지 않음 (곧 다른 프레임이 나가므로)
+ */
+public class OutboundBuffer {
+
+    private static final String CHUNK_EVENT = "chunk";
+
+    private final OutboundBuffering buffering;
+    private final String chatRoomId;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<SseFrame> frames = new ArrayDeque<>();
+    private int bytes;
+    private String completeOnlyRequestId; // complete-only로 전환된 요청 (complete/error까지 chunk를 건너뜀)
+    private boolean closed;
+
+    OutboundBuffer(OutboundBuffering buffering, String chatRoomId) {
+        this.buffering = buffering;
+        this.chatRoomId = chatRoomId;
+    }
+
+    /**
+     * 프레임을 대기열에 추가
+     *
+     * @return false면 disconnect 정책으로 연결을 닫아야 함 (대기 프레임은 이미 버림)
+     */
+    public boolean offer(SseFrame frame) {
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            if (frame == SseFrame.HEARTBEAT && !frames.isEmpty()) {
+                return true;
+            }
+            if (completeOnlyRequestId != null && frame.belongsTo(completeOnlyRequestId)) {
+                if (CHUNK_EVENT.equals(frame.getEventName())) {
+                    return true;
+                }
+                completeOnlyRequestId = null; // complete/error 이후는 다시 정상 전달
+            }
+
+            add(frame);
+            if (bytes <= buffering.getMaxBytes()) {
+                return true;
+            }
+            return overflow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public SseFrame poll() {
+        lock.lock();
+        try {
+            SseFrame frame = frames.pollFirst();
+            if (frame != null) {
+                int size = frame.estimatedBytes();
+                bytes -= size;
+                buffering.release(size);
+            }
+            return frame;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return frames.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 한도와 무관하게 overflow-policy를 바로 적용 (writer를 얻지 못해 대기 프레임이 빠지지 않을 때)
+     *
+     * @return false면 disconnect 정책으로 연결을 닫아야 함 (대기 프레임은 이미 버림)
+     */
+    public boolean shed() {
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            return frames.isEmpty() || overflow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 연결 종료: 대기 프레임을 버리고 이후 offer는 거부
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean overflow() {
+        OutboundBuffering.OverflowPolicy policy = buffering.getPolicy();
+        buffering.recordOverflow(policy);
+        if (policy == OutboundBuffering.OverflowPolicy.DISCONNECT) {
+            closed = true;
+            clear();
+            return false;
+        }
+        dropChunks();
+        return true;
+    }
+
+    /**
+     * 대기 중인 chunk를 버리고 마지막으로 버린 chunk의 요청을 complete-only로 전환 (reset을 대신 넣음)
+     */
+    private void dropChunks() {
+        SseFrame lastDropped = null;
+        Iterator<SseFrame> iterator = frames.iterator();
+        while (iterator.hasNext()) {
+            SseFrame frame = iterator.next();
+            if (CHUNK_EVENT.equals(frame.getEventName()) && frame.getId() != null) {
+                iterator.remove();
+                int size = frame.estimatedBytes();
+                bytes -= size;
+                buffering.release(size);
+                lastDropped = frame;
+            }
+        }
+        if (lastDropped != null) {
+            completeOnlyRequestId = requestIdOf(lastDropped);
+            add(buffering.resetFrame(chatRoomId, completeOnlyRequestId, lastDropped.getId()));
+        }
+    }
+
+    private void add(SseFrame frame) {
+        frames.addLast(frame);
+        int size = frame.estimatedBytes();
+        bytes += size;
+        buffering.reserve(size);
+    }
+
+    private void clear() {
+        buffering.release(bytes);
+        bytes = 0;
+        frames.clear();
+    }
+
+    private static String requestIdOf(SseFrame frame) {
+        return frame.getId().substring(0, frame.getId().lastIndexOf(ResumableStream.ID_SEPARATOR));
+    }
+}
@@ -0,0 +1,232 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SSE 연결별 송신 버퍼 설정, servlet writer 스레드 및 메트릭
+ * - 연결마다 max-bytes 한도의 OutboundBuffer를 두고, 전송은 버퍼에 넣는 것까지만 수행 (느린 연결이 생성 스레드를 막지 않음)
+ * - 한도 초과 시 overflow-policy
+ *   complete-only: 대기 중인 chunk를 버리고 reset 전송, 그 요청의 남은 chunk는 건너뛰고 complete(fullResponse)만 전달
+ *   disconnect: 대기 중인 프레임을 버리고 연결 종료 (클라이언트는 Last-Event-ID로 재연결해 재생)
+ * - servlet writer 스레드는 writer-threads개, 대기 작업은 writer-queue개까지 (느린 연결이 많아도 스레드가 늘지 않음)
+ *   writer를 얻지 못하면 그 연결에 overflow-policy를 바로 적용하고 다음 전송 때 다시 예약
+ * - 한 연결이 writer를 오래 잡지 않도록
+ *   drain 한 번에 drain-batch개까지만 쓰고 남으면 대기열 뒤로 다시 예약 (바쁜 연결 사이에서 스레드를 돌려 씀)
+ *   emitter.send 하나가 write-timeout을 넘기면 watchdog가 그 연결을 실패 처리하고, 멈춘 스레드만큼 writer를 임시로 늘림
+ *   (최대 writer-threads개까지, 멈춘 쓰기는 Tomcat connection-timeout으로 끝나며 그때 되돌림)
+ *
+ * 메트릭
+ * - llm.sse.outbound.buffered.bytes: 모든 연결의 송신 대기 바이트 (UTF-8 추정)
+ * - llm.sse.outbound.overflows{policy=complete-only|disconnect}: 한도 초과로 적용된 정책
+ * - llm.sse.outbound.writer.rejected: writer 스레드/대기열이 가득 차 예약하지 못한 쓰기
+ * - llm.sse.outbound.write.timeouts: write-timeout을 넘겨 실패 처리한 연결
+ * - llm.sse.outbound.writer.stalled: 멈춘 쓰기에 묶여 임시로 늘린 writer 스레드 수
+ */
+@Slf4j
+@Component
+public class OutboundBuffering {
+
+    public enum OverflowPolicy {
+        COMPLETE_ONLY, DISCONNECT
+    }
+
+    private static final String RESET_EVENT = "reset";
+
+    @Getter
+    private final int maxBytes;
+    @Getter
+    private final OverflowPolicy policy;
+    private final ObjectMapper objectMapper;
+
+    // servlet 모드의 블로킹 쓰기 전용 (연결마다 대기 프레임이 있을 때만 작업 하나, 가득 차면 RejectedExecutionException)
+    @Getter
+    private final ThreadPoolExecutor writer;
+    @Getter
+    private final int drainBatch;
+    private final long writeTimeoutMillis;
+    private final int maxStalledWriters;
+
+    // drain 중인 연결 (watchdog가 멈춘 쓰기를 찾는 대상)
+    private final Set<EmitterSseSubscriber> draining = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService watchdog;
+    private final ReentrantLock resizeLock = new ReentrantLock();
+    private final AtomicInteger stalledWriters = new AtomicInteger(); // resizeLock 안에서만 변경
+
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final Counter completeOnly;
+    private final Counter disconnected;
+    private final Counter writerRejected;
+    private final Counter writeTimeouts;
+
+    public OutboundBuffering(MeterRegistry meterRegistry,
+                             ObjectMapper objectMapper,
+                             @Value("${llm.sse.outbound.max-bytes:65536}") int maxBytes,
+                             @Value("${llm.sse.outbound.overflow-policy:complete-only}") String policy,
+                             @Value("${llm.sse.outbound.writer-threads:64}") int writerThreads,
+                             @Value("${llm.sse.outbound.writer-queue:1024}") int writerQueue,
+                             @Value("${llm.sse.outbound.write-timeout:10s}") Duration writeTimeout,
+                             @Value("${llm.sse.outbound.drain-batch:32}") int drainBatch) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+        this.policy = OverflowPolicy.valueOf(policy.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        this.writer = new ThreadPoolExecutor(writerThreads, writerThreads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(writerQueue), new CustomizableThreadFactory("sse-writer-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.writer.allowCoreThreadTimeOut(true);
+        this.drainBatch = drainBatch;
+        this.writeTimeoutMillis = writeTimeout.toMillis();
+        this.maxStalledWriters = writerThreads;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sse-write-watchdog-"));
+        long checkMillis = Math.max(100, writeTimeoutMillis / 4);
+        watchdog.scheduleAtFixedRate(this::checkStalledWrites, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+
+        this.completeOnly = overflows(meterRegistry, "complete-only");
+        this.disconnected = overflows(meterRegistry, "disconnect");
+        this.writerRejected = Counter.builder("llm.sse.outbound.writer.rejected")
+            .description("SSE writes that could not be scheduled because all writer threads were busy")
+            .register(meterRegistry);
+        this.writeTimeouts = Counter.builder("llm.sse.outbound.write.timeouts")
+            .description("SSE connections failed because a single write exceeded the write timeout")
+            .register(meterRegistry);
+        Gauge.builder("llm.sse.outbound.writer.stalled", stalledWriters, AtomicInteger::get)
+            .description("Extra writer threads added while writes are stalled")
+            .register(meterRegistry);
+        Gauge.builder("llm.sse.outbound.buffered.bytes", bufferedBytes, AtomicLong::get)
+            .description("Estimated bytes waiting in per-connection SSE outbound buffers")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    private static Counter overflows(MeterRegistry meterRegistry, String policy) {
+        return Counter.builder("llm.sse.outbound.overflows")
+            .description("Outbound buffer overflows by the policy that was applied")
+            .tag("policy", policy)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 연결 하나의 송신 버퍼 생성
+     */
+    public OutboundBuffer open(String chatRoomId) {
+        return new OutboundBuffer(this, chatRoomId);
+    }
+
+    void reserve(int bytes) {
+        bufferedBytes.addAndGet(bytes);
+    }
+
+    void release(int bytes) {
+        bufferedBytes.addAndGet(-bytes);
+    }
+
+    void recordOverflow(OverflowPolicy applied) {
+        switch (applied) {
+            case COMPLETE_ONLY -> completeOnly.increment();
+            case DISCONNECT -> disconnected.increment();
+        }
+    }
+
+    void recordWriterRejected() {
+        writerRejected.increment();
+    }
+
+    void drainStarted(EmitterSseSubscriber subscriber) {
+        draining.add(subscriber);
+    }
+
+    void drainFinished(EmitterSseSubscriber subscriber) {
+        draining.remove(subscriber);
+    }
+
+    /**
+     * write-timeout을 넘긴 쓰기를 찾아 연결을 실패 처리 (멈춘 스레드는 그대로 두고 writer를 하나 늘려 다른 연결이 기다리지 않도록)
+     */
+    private void checkStalledWrites() {
+        long now = System.currentTimeMillis();
+        for (EmitterSseSubscriber subscriber : draining) {
+            try {
+                if (subscriber.abortIfStalled(now, writeTimeoutMillis)) {
+                    writeTimeouts.increment();
+                }
+            } catch (Exception e) {
+                log.warn("Failed to check SSE write", e);
+            }
+        }
+    }
+
+    /**
+     * 멈춘 쓰기 하나만큼 writer 스레드 추가 (최대 writer-threads개까지)
+     *
+     * @return 추가했으면 true (쓰기가 끝나면 stalledWriteFinished로 되돌려야 함)
+     */
+    boolean addStalledWriter() {
+        resizeLock.lock();
+        try {
+            if (stalledWriters.get() >= maxStalledWriters) {
+                return false;
+            }
+            stalledWriters.incrementAndGet();
+            int size = writer.getMaximumPoolSize() + 1;
+            writer.setMaximumPoolSize(size);
+            writer.setCorePoolSize(size); // 대기 중인 작업이 있으면 바로 새 스레드 시작
+            return true;
+        } finally {
+            resizeLock.unlock();
+        }
+    }
+
+    void stalledWriteFinished() {
+        resizeLock.lock();
+        try {
+            stalledWriters.decrementAndGet();
+            int size = writer.getCorePoolSize() - 1;
+            writer.setCorePoolSize(size);
+            writer.setMaximumPoolSize(size);
+        } finally {
+            resizeLock.unlock();
+        }
+    }
+
+    /**
+     * 버린 chunk 대신 보내는 reset (id는 마지막으로 버린 chunk, 재연결 시 그 다음부터 재생)
+     */
+    SseFrame resetFrame(String chatRoomId, String requestId, String lastDroppedId) {
+        try {
+            return SseFrame.of(RESET_EVENT, lastDroppedId, objectMapper.writeValueAsString(Map.of(
+                "requestId", requestId,
+                "chatRoomId", chatRoomId
+            )));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to encode reset event", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdown();
+        writer.shutdown();
+    }
+}
@@ -0,0 +1,38 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * 사용자 프롬프트 정규화 (응답 캐시 / single-flight 키 생성용)
+ * - 유니코드 NFKC 정규화, 소문자 변환
+ * - 문장부호/기호 제거, 연속 공백을 하나로 축소
+ */
+public final class PromptNormalizer {
+
+    private PromptNormalizer() {
+    }
+
+    public static String normalize(String prompt) {
+        if (prompt == null) {
+            return "";
+        }
+        String text = Normalizer.normalize(prompt, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+}
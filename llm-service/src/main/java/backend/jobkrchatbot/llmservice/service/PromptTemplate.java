@@ -0,0 +1,20 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 버전이 붙은 시스템 프롬프트 (resources/prompts/{id}/{version}.txt)
+ */
+@Getter
+@RequiredArgsConstructor
+public class PromptTemplate {
+
+    private final String id;
+    private final String version;
+    private final String text;
+
+    public String getKey() {
+        return id + ":" + version;
+    }
+}
@@ -0,0 +1,68 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 시스템 프롬프트 템플릿 저장소
+ * - classpath:prompts/{id}/{version}.txt 를 시작 시 한 번만 로드
+ * - 사용할 버전은 llm.prompts.{id}.version 으로 선택
+ */
+@Slf4j
+@Component
+public class PromptTemplateRegistry {
+
+    public static final String JOB_SEEKER = "job-seeker";
+
+    private static final String TEMPLATE_LOCATION = "classpath:prompts/*/*.txt";
+
+    private final Map<String, PromptTemplate> templates = new ConcurrentHashMap<>();
+
+    @Value("${llm.prompts.job-seeker.version:v1}")
+    private String jobSeekerVersion;
+
+    @PostConstruct
+    public void loadTemplates() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(TEMPLATE_LOCATION);
+        for (Resource resource : resources) {
+            String path = resource.getURL().getPath();
+            String[] segments = path.split("/");
+            String id = segments[segments.length - 2];
+            String version = segments[segments.length - 1].replaceFirst("\\.txt$", "");
+            String text = resource.getContentAsString(StandardCharsets.UTF_8);
+
+            PromptTemplate template = new PromptTemplate(id, version, text);
+            templates.put(template.getKey(), template);
+            log.info("Prompt template loaded: {} ({} chars)", template.getKey(), text.length());
+        }
+        // 활성 버전이 없으면 시작 단계에서 실패
+        getActive(JOB_SEEKER);
+    }
+
+    public PromptTemplate get(String id, String version) {
+        PromptTemplate template = templates.get(id + ":" + version);
+        if (template == null) {
+            throw new IllegalArgumentException("프롬프트 템플릿을 찾을 수 없습니다: " + id + ":" + version);
+        }
+        return template;
+    }
+
+    /**
+     * 구직자를 위한 맞춤형 시스템 프롬프트 (이력서 기반 면접 질문 생성과 학습 경로 제안)
+     */
+    public PromptTemplate getActive(String id) {
+        if (JOB_SEEKER.equals(id)) {
+            return get(id, jobSeekerVersion);
+        }
+        throw new IllegalArgumentException("알 수 없는 프롬프트입니다: " + id);
+    }
+}
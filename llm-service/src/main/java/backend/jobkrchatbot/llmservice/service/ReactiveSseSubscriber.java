@@ -0,0 +1,84 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reactor Flux 기반 연결 (reactive 모드)
+ * - 전송은 OutboundBuffer에 넣는 것까지만 하고, Netty 쪽 요청 수요(request)만큼만 꺼내 내보냄
+ *   (느린 연결의 대기분은 max-bytes 한도 안에서만 쌓이고 넘으면 overflow 정책 적용)
+ */
+public class ReactiveSseSubscriber implements SseSubscriber {
+
+    private final OutboundBuffer buffer;
+    private final Flux<ServerSentEvent<String>> flux;
+    private volatile FluxSink<ServerSentEvent<String>> sink;
+
+    // 0이 아니면 drain 실행 중 (Kafka/병합 스레드, keep-alive 스레드, 요청 수요 신호가 동시에 들어옴)
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean completing;
+    private volatile boolean closed;
+
+    public ReactiveSseSubscriber(OutboundBuffer buffer) {
+        this.buffer = buffer;
+        this.flux = Flux.create(created -> {
+            sink = created;
+            created.onRequest(n -> drain());
+            created.onDispose(this::release);
+            drain();
+        });
+    }
+
+    public Flux<ServerSentEvent<String>> asFlux() {
+        return flux;
+    }
+
+    @Override
+    public void send(SseFrame frame) throws IOException {
+        if (closed) {
+            throw new IOException("SSE stream already closed: " + frame.getEventName());
+        }
+        if (!buffer.offer(frame)) {
+            // disconnect 정책: 스트림을 끝내 클라이언트가 Last-Event-ID로 재연결하도록
+            complete();
+            throw new IOException("SSE outbound buffer overflow, disconnected");
+        }
+        drain();
+    }
+
+    @Override
+    public void complete() {
+        completing = true;
+        drain();
+    }
+
+    @Override
+    public void release() {
+        closed = true;
+        buffer.close();
+    }
+
+    private void drain() {
+        if (pending.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            FluxSink<ServerSentEvent<String>> current = sink;
+            if (current != null && !current.isCancelled()) {
+                SseFrame frame;
+                while (current.requestedFromDownstream() > 0 && (frame = buffer.poll()) != null) {
+                    current.next(frame.forReactive());
+                }
+                if (completing && buffer.isEmpty()) {
+                    current.complete();
+                }
+            }
+            missed = pending.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
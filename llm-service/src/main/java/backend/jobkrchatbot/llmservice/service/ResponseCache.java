@@ -0,0 +1,297 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import backend.jobkrchatbot.llmservice.dto.CachedResponse;
+import backend.jobkrchatbot.llmservice.infrastructure.RedisResponseCacheStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 반복되는 구직자 질문에 대한 2단계 응답 캐시
+ * - L1: 노드 내 LRU (항목 수 제한 + TTL)
+ * - L2: Redis (노드 간 공유, TTL)
+ * - 근사 중복: SimHash 지문의 해밍 거리가 max-distance 이하인 L2 항목을 재사용
+ *
+ * 메트릭
+ * - llm.cache.lookups{result=l1|l2|near|miss}: 조회 결과별 횟수
+ * - llm.cache.hit.ratio: 누적 적중률
+ * - llm.cache.l1.size / llm.cache.l1.evictions: L1 항목 수 / 용량 초과로 밀려난 항목 수
+ */
+@Slf4j
+@Component
+public class ResponseCache {
+
+    // 64비트 지문을 16비트씩 4구간으로 색인 → 해밍 거리 3 이하는 항상 후보에 포함
+    private static final int BANDS = 4;
+
+    private final RedisResponseCacheStore l2Store;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration l1Ttl;
+    private final int l1MaxEntries;
+    private final boolean nearDuplicateEnabled;
+    private final int maxDistance;
+    private final int minShingles;
+    private final int maxCandidates;
+    private final int replayChunkChars;
+
+    private final ReentrantLock l1Lock = new ReentrantLock();
+    private final LinkedHashMap<String, L1Entry> l1;
+
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter nearHits;
+    private final Counter misses;
+    private final Counter l1Evictions;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong lookupCount = new AtomicLong();
+
+    public ResponseCache(RedisResponseCacheStore l2Store,
+                         MeterRegistry meterRegistry,
+                         @Value("${llm.cache.enabled:true}") boolean enabled,
+                         @Value("${llm.cache.ttl:6h}") Duration ttl,
+                         @Value("${llm.cache.l1.ttl:10m}") Duration l1Ttl,
+                         @Value("${llm.cache.l1.max-entries:1000}") int l1MaxEntries,
+                         @Value("${llm.cache.near-duplicate.enabled:true}") boolean nearDuplicateEnabled,
+                         @Value("${llm.cache.near-duplicate.max-distance:3}") int maxDistance,
+                         @Value("${llm.cache.near-duplicate.min-shingles:8}") int minShingles,
+                         @Value("${llm.cache.near-duplicate.max-candidates:32}") int maxCandidates,
+                         @Value("${llm.cache.replay-chunk-chars:256}") int replayChunkChars) {
+        this.l2Store = l2Store;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.l1Ttl = l1Ttl;
+        this.l1MaxEntries = l1MaxEntries;
+        this.nearDuplicateEnabled = nearDuplicateEnabled;
+        this.maxDistance = Math.min(maxDistance, BANDS - 1);
+        this.minShingles = minShingles;
+        this.maxCandidates = maxCandidates;
+        this.replayChunkChars = replayChunkChars;
+
+        this.l1Hits = lookupCounter(meterRegistry, "l1");
+        this.l2Hits = lookupCounter(meterRegistry, "l2");
+        this.nearHits = lookupCounter(meterRegistry, "near");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.l1Evictions = Counter.builder("llm.cache.l1.evictions")
+            .description("L1 response cache entries evicted by size limit")
+            .register(meterRegistry);
+
+        this.l1 = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, L1Entry> eldest) {
+                if (size() > ResponseCache.this.l1MaxEntries) {
+                    l1Evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        Gauge.builder("llm.cache.l1.size", this, ResponseCache::l1Size)
+            .description("L1 response cache entries")
+            .register(meterRegistry);
+        Gauge.builder("llm.cache.hit.ratio", this, ResponseCache::hitRatio)
+            .description("Response cache hit ratio since start")
+            .register(meterRegistry);
+
+        if (maxDistance >= BANDS) {
+            log.warn("llm.cache.near-duplicate.max-distance {} exceeds band index limit, using {}", maxDistance, this.maxDistance);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ResponseCacheKey keyOf(PromptTemplate template, String userMessage) {
+        String normalized = PromptNormalizer.normalize(userMessage);
+        return new ResponseCacheKey(
+            template.getKey(),
+            normalized,
+            sha256(normalized),
+            SimHash.fingerprint(normalized),
+            SimHash.shingleCount(normalized) >= minShingles
+        );
+    }
+
+    /**
+     * L1 → L2 → 근사 중복 순서로 조회 (L2 적중 시 L1으로 승격)
+     */
+    public Optional<String> lookup(ResponseCacheKey key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        lookupCount.incrementAndGet();
+
+        String local = getL1(key.getValue());
+        if (local != null) {
+            recordHit(l1Hits);
+            return Optional.of(local);
+        }
+
+        Optional<CachedResponse> shared = l2Store.get(key.getTemplateKey(), key.getHash());
+        if (shared.isPresent()) {
+            recordHit(l2Hits);
+            putL1(key.getValue(), shared.get().getResponse());
+            return Optional.of(shared.get().getResponse());
+        }
+
+        Optional<CachedResponse> similar = findNearDuplicate(key);
+        if (similar.isPresent()) {
+            recordHit(nearHits);
+            putL1(key.getValue(), similar.get().getResponse());
+            return Optional.of(similar.get().getResponse());
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void store(ResponseCacheKey key, String response) {
+        if (!enabled || response == null || response.isEmpty()) {
+            return;
+        }
+        putL1(key.getValue(), response);
+
+        CachedResponse value = CachedResponse.builder()
+            .response(response)
+            .fingerprint(key.getFingerprint())
+            .createdAt(System.currentTimeMillis())
+            .build();
+        List<String> bands = key.isNearDuplicateEligible() && nearDuplicateEnabled ? bandsOf(key.getFingerprint()) : List.of();
+        l2Store.put(key.getTemplateKey(), key.getHash(), value, bands, ttl);
+    }
+
+    /**
+     * 캐시된 응답을 chunk 이벤트로 재생하기 위해 일정 길이로 분할 (서로게이트 쌍은 나누지 않음)
+     */
+    public List<String> toReplayFrames(String response) {
+        List<String> frames = new ArrayList<>(response.length() / replayChunkChars + 1);
+        int start = 0;
+        while (start < response.length()) {
+            int end = Math.min(start + replayChunkChars, response.length());
+            if (end < response.length() && Character.isHighSurrogate(response.charAt(end - 1))) {
+                end--;
+            }
+            frames.add(response.substring(start, end));
+            start = end;
+        }
+        return frames;
+    }
+
+    private Optional<CachedResponse> findNearDuplicate(ResponseCacheKey key) {
+        if (!nearDuplicateEnabled || !key.isNearDuplicateEligible()) {
+            return Optional.empty();
+        }
+
+        CachedResponse best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (CachedResponse candidate : l2Store.findCandidates(key.getTemplateKey(), bandsOf(key.getFingerprint()), maxCandidates, ttl)) {
+            int distance = SimHash.distance(key.getFingerprint(), candidate.getFingerprint());
+            if (distance <= maxDistance && distance < bestDistance) {
+                best = candidate;
+                bestDistance = distance;
+            }
+        }
+        if (best != null) {
+            log.debug("Near-duplicate cache hit - template: {}, distance: {}", key.getTemplateKey(), bestDistance);
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private List<String> bandsOf(long fingerprint) {
+        List<String> bands = new ArrayList<>(BANDS);
+        for (int i = 0; i < BANDS; i++) {
+            bands.add(i + ":" + Integer.toHexString(SimHash.band(fingerprint, i, BANDS)));
+        }
+        return bands;
+    }
+
+    private String getL1(String key) {
+        l1Lock.lock();
+        try {
+            L1Entry entry = l1.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt < System.currentTimeMillis()) {
+                l1.remove(key);
+                return null;
+            }
+            return entry.response;
+        } finally {
+            l1Lock.unlock();
+        }
+    }
+
+    private void putL1(String key, String response) {
+        L1Entry entry = new L1Entry(response, System.currentTimeMillis() + l1Ttl.toMillis());
+        l1Lock.lock();
+        try {
+            l1.put(key, entry);
+        } finally {
+            l1Lock.unlock();
+        }
+    }
+
+    private double l1Size() {
+        l1Lock.lock();
+        try {
+            return l1.size();
+        } finally {
+            l1Lock.unlock();
+        }
+    }
+
+    private double hitRatio() {
+        long lookups = lookupCount.get();
+        return lookups == 0 ? 0.0 : (double) hitCount.get() / lookups;
+    }
+
+    private void recordHit(Counter counter) {
+        counter.increment();
+        hitCount.incrementAndGet();
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("llm.cache.lookups")
+            .description("Response cache lookups by result")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class L1Entry {
+        private final String response;
+        private final long expiresAt;
+
+        private L1Entry(String response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
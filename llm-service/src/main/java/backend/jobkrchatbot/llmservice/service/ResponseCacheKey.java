@@ -0,0 +1,24 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 응답 캐시 키 (시스템 프롬프트 버전 + 정규화된 사용자 프롬프트)
+ * - hash: 정확히 일치하는 항목 조회용 SHA-256
+ * - fingerprint: 근사 중복 조회용 SimHash (너무 짧은 프롬프트는 nearDuplicateEligible=false)
+ */
+@Getter
+@RequiredArgsConstructor
+public class ResponseCacheKey {
+
+    private final String templateKey;
+    private final String normalizedPrompt;
+    private final String hash;
+    private final long fingerprint;
+    private final boolean nearDuplicateEligible;
+
+    public String getValue() {
+        return templateKey + ":" + hash;
+    }
+}
@@ -0,0 +1,282 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 요청 하나의 SSE 이벤트 흐름 (start → chunk... → complete | error)
+ * - 이벤트마다 요청 내 순번을 붙여 id(requestId:seq)로 전송하고, 재연결 재생용으로 StreamReplayBuffer 한도 안에서 보관
+ * - 로컬 전송(송신 버퍼에 넣기)과 재연결 재생은 같은 lock 안에서 수행되어 재연결 전후로 순번 순서가 유지됨
+ * - 원격 경로(Redis publish)는 lock 안에서 순번 순서대로 대기열에 넣고 lock 밖에서 한 스레드씩 보냄
+ *   대상 노드에 구독자가 없으면 그 경로를 빼고 채팅방 경로를 다시 조회 (이후 이벤트부터 새 경로로 전달)
+ * - 다른 노드로 재연결되면 그 노드를 전송 경로에 추가 (기존 경로의 다른 탭·기기도 계속 수신)
+ */
+@Slf4j
+public class ResumableStream {
+
+    public static final char ID_SEPARATOR = ':';
+
+    // 프레임 객체 + id/이벤트 이름 참조 등 data 외 추정 오버헤드
+    private static final int FRAME_OVERHEAD_BYTES = 128;
+
+    /**
+     * 재연결 재생 대상 (이 노드의 새 연결, 또는 재생을 요청한 다른 노드)
+     */
+    interface Replay {
+
+        /**
+         * lock 안에서 재생 전에 실행 (새 연결 등록 등, 그 사이 실시간 이벤트가 끼어들지 않음)
+         */
+        void begin();
+
+        void frame(SseFrame frame) throws IOException;
+
+        /**
+         * 재생 후 실행, replayed=false면 lastSeq 다음 이벤트가 이미 잘려 나가 재생하지 못한 경우
+         */
+        void end(boolean replayed) throws IOException;
+    }
+
+    @Getter
+    private final String requestId;
+    @Getter
+    private final String chatRoomId;
+    @Getter
+    private final long openedAt;
+
+    private final SseConnectionRegistry registry;
+    private final StreamReplayBuffer buffer;
+    private final boolean buffered;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+    private final List<SseRoute> routes = new ArrayList<>(2);
+    private final ConcurrentLinkedQueue<RemoteFrame> remoteOutbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger remotePending = new AtomicInteger(); // 0이 아니면 원격 전송 중
+    private long nextSeq;
+    private long firstSeq; // 보관 중인 가장 오래된 순번 (한도 초과로 앞부분이 잘리면 증가)
+    private int bytes;
+    private boolean discarded;
+    @Getter
+    private volatile long finishedAt; // 0이면 진행 중
+
+    ResumableStream(String requestId, List<SseRoute> routes, SseConnectionRegistry registry,
+                    StreamReplayBuffer buffer, boolean buffered) {
+        this.requestId = requestId;
+        this.chatRoomId = routes.get(0).getChatRoomId();
+        this.routes.addAll(routes);
+        this.registry = registry;
+        this.buffer = buffer;
+        this.buffered = buffered;
+        this.openedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 다음 순번으로 보관 후 모든 경로로 전송 (연결이 끊겨 전송에 실패해도 보관된 이벤트는 재연결 시 재생)
+     * - 한 경로라도 전달되면 성공 (원격 경로는 대기열에 넣으면 전달로 봄), 모두 실패하면 마지막 오류
+     * - 블로킹 Redis publish는 lock 밖에서 수행해 재연결 재생/다른 전송을 막지 않음
+     */
+    public void send(String eventName, String data) throws IOException {
+        IOException failure = null;
+        boolean delivered = false;
+        boolean remote = false;
+        lock.lock();
+        try {
+            long seq = nextSeq++;
+            SseFrame frame = SseFrame.of(eventName, eventId(seq), data);
+            if (buffered) {
+                record(new Frame(seq, frame));
+            }
+            for (SseRoute route : routes) {
+                if (!route.isLocal()) {
+                    remoteOutbox.add(new RemoteFrame(route, frame));
+                    remote = true;
+                    delivered = true;
+                    continue;
+                }
+                try {
+                    registry.send(route, frame);
+                    delivered = true;
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (remote) {
+            flushRemote();
+        }
+        if (!delivered && failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 원격 대기열을 넣은 순서대로 전송 (동시에 한 스레드만, 그 사이 추가된 프레임도 같은 스레드가 이어서 처리)
+     */
+    private void flushRemote() {
+        if (remotePending.getAndIncrement() != 0) {
+            return;
+        }
+        Set<String> staleNodes = null; // 이번 전송 중 구독자가 없던 노드 (남은 프레임은 보내지 않고 버림)
+        int missed = 1;
+        do {
+            RemoteFrame next;
+            while ((next = remoteOutbox.poll()) != null) {
+                String nodeId = next.route.getNodeId();
+                if (staleNodes != null && staleNodes.contains(nodeId)) {
+                    registry.dropRelayed(next.route);
+                    continue;
+                }
+                try {
+                    if (!registry.send(next.route, next.frame)) {
+                        if (staleNodes == null) {
+                            staleNodes = new HashSet<>();
+                        }
+                        staleNodes.add(nodeId);
+                        reroute(next.route);
+                    }
+                } catch (IOException e) {
+                    log.warn("Failed to relay SSE event {} to node: {}", next.frame.getId(), nodeId, e);
+                }
+            }
+            missed = remotePending.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * 구독자가 없는 노드 경로를 빼고, 다시 조회한 채팅방 경로 중 없던 경로를 추가 (Redis 조회는 lock 밖에서)
+     */
+    private void reroute(SseRoute stale) {
+        List<SseRoute> resolved = registry.resolveRoutes(chatRoomId);
+        lock.lock();
+        try {
+            routes.removeIf(route -> Objects.equals(route.getNodeId(), stale.getNodeId()));
+            for (SseRoute route : resolved) {
+                if (routes.stream().noneMatch(existing -> Objects.equals(existing.getNodeId(), route.getNodeId()))) {
+                    routes.add(route);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        log.warn("SSE route to node {} is stale, rerouted - requestId: {}, routes: {}", stale.getNodeId(), requestId,
+            resolved.size());
+    }
+
+    /**
+     * complete/error 전송 후 호출 (이후 finished-ttl 동안만 재생 가능)
+     */
+    public void finish() {
+        if (finishedAt == 0) {
+            finishedAt = System.currentTimeMillis();
+            buffer.finished(this);
+        }
+    }
+
+    public boolean isFinished() {
+        return finishedAt != 0;
+    }
+
+    /**
+     * 재연결: 새 연결의 경로를 추가하고 lastSeq 이후 이벤트를 순서대로 재생
+     * - 버려졌거나 lastSeq 다음 이벤트가 이미 잘려 나갔으면 경로만 추가하고 false
+     */
+    boolean resume(long lastSeq, SseRoute route, Replay replay) throws IOException {
+        lock.lock();
+        try {
+            if (routes.stream().noneMatch(existing -> Objects.equals(existing.getNodeId(), route.getNodeId()))) {
+                routes.add(route);
+            }
+            replay.begin();
+            boolean replayed = !discarded && lastSeq + 1 >= firstSeq;
+            if (replayed) {
+                for (Frame frame : frames) {
+                    if (frame.seq > lastSeq) {
+                        replay.frame(frame.frame);
+                    }
+                }
+            }
+            replay.end(replayed);
+            return replayed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 보관 중인 이벤트를 모두 버림 (만료/메모리 회수), 재생 중인 스트림은 건너뜀
+     */
+    boolean discard() {
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            discarded = true;
+            firstSeq = nextSeq;
+            frames.clear();
+            buffer.release(bytes);
+            bytes = 0;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(Frame frame) {
+        if (discarded) {
+            return;
+        }
+        frames.addLast(frame);
+        bytes += frame.bytes;
+        buffer.reserve(frame.bytes);
+
+        // 요청당 한도 또는 전체 한도를 넘으면 가장 오래된 이벤트부터 제거 (전체 한도는 끝난 버퍼를 먼저 회수)
+        while (!frames.isEmpty() && (bytes > buffer.getMaxBytesPerRequest() || !buffer.reclaim())) {
+            Frame dropped = frames.removeFirst();
+            bytes -= dropped.bytes;
+            buffer.release(dropped.bytes);
+            firstSeq = dropped.seq + 1;
+        }
+    }
+
+    private String eventId(long seq) {
+        return requestId + ID_SEPARATOR + seq;
+    }
+
+    private static final class RemoteFrame {
+        private final SseRoute route;
+        private final SseFrame frame;
+
+        private RemoteFrame(SseRoute route, SseFrame frame) {
+            this.route = route;
+            this.frame = frame;
+        }
+    }
+
+    private static final class Frame {
+        private final long seq;
+        private final SseFrame frame;
+        private final int bytes;
+
+        private Frame(long seq, SseFrame frame) {
+            this.seq = seq;
+            this.frame = frame;
+            // data + 전송 시 만들어 둔 인코딩 캐시 (UTF-16 기준)
+            this.bytes = frame.getData().length() * 4 + FRAME_OVERHEAD_BYTES;
+        }
+    }
+}
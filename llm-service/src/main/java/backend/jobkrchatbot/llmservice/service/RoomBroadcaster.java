@@ -0,0 +1,101 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import lombok.Getter;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 채팅방 하나의 로컬 구독자 목록 (같은 채팅방을 보는 여러 탭·기기)
+ * - copy-on-write 목록이라 전송은 lock 없이 스냅샷을 순회하고, 추가/제거(연결 수명 이벤트)만 배열을 복사
+ * - 이벤트는 SseFrame 하나로 만들어 모든 구독자에게 그대로 씀 (구독자 수와 관계없이 인코딩 1회)
+ * - 구독자마다 수명이 따로라 한 연결의 실패는 그 연결만 제거
+ * - 다른 노드에 재생을 요청한 구독자는 재생이 끝날 때까지 그 요청의 실시간 이벤트를 받지 않음 (재생에 다시 포함됨)
+ */
+public class RoomBroadcaster {
+
+    @Getter
+    private final String chatRoomId;
+    private final CopyOnWriteArrayList<Member> members = new CopyOnWriteArrayList<>();
+
+    RoomBroadcaster(String chatRoomId) {
+        this.chatRoomId = chatRoomId;
+    }
+
+    void add(SseSubscriber subscriber, String awaitingReplay) {
+        members.add(new Member(subscriber, awaitingReplay));
+    }
+
+    boolean remove(SseSubscriber subscriber) {
+        return members.removeIf(member -> member.subscriber == subscriber);
+    }
+
+    boolean isEmpty() {
+        return members.isEmpty();
+    }
+
+    int size() {
+        return members.size();
+    }
+
+    /**
+     * 모든 구독자에게 전송, 실패한 구독자는 onFailure로 넘김
+     *
+     * @return 전송에 성공한 구독자 수
+     */
+    int broadcast(SseFrame frame, Consumer<SseSubscriber> onFailure) {
+        int delivered = 0;
+        for (Member member : members) {
+            String awaiting = member.awaitingReplay;
+            if (awaiting != null && frame.belongsTo(awaiting)) {
+                continue;
+            }
+            if (write(member.subscriber, frame, onFailure)) {
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * 다른 노드에서 온 재생 이벤트를 그 요청의 재생을 기다리는 구독자에게만 전송
+     */
+    void replay(String requestId, SseFrame frame, Consumer<SseSubscriber> onFailure) {
+        for (Member member : members) {
+            if (requestId.equals(member.awaitingReplay)) {
+                write(member.subscriber, frame, onFailure);
+            }
+        }
+    }
+
+    /**
+     * 재생 종료: 이후 실시간 이벤트는 다시 모든 구독자에게
+     */
+    void endReplay(String requestId) {
+        for (Member member : members) {
+            if (requestId.equals(member.awaitingReplay)) {
+                member.awaitingReplay = null;
+            }
+        }
+    }
+
+    private static boolean write(SseSubscriber subscriber, SseFrame frame, Consumer<SseSubscriber> onFailure) {
+        try {
+            subscriber.send(frame);
+            return true;
+        } catch (Exception e) {
+            onFailure.accept(subscriber);
+            return false;
+        }
+    }
+
+    private static final class Member {
+        private final SseSubscriber subscriber;
+        private volatile String awaitingReplay;
+
+        private Member(SseSubscriber subscriber, String awaitingReplay) {
+            this.subscriber = subscriber;
+            this.awaitingReplay = awaitingReplay;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package backend.jobkrchatbot.llmservice.service;
+
+/**
+ * 64비트 SimHash (근사 중복 프롬프트 탐지용)
+ * - 형태소 분석 없이 한국어에도 적용되도록 공백을 뺀 문자 3-gram을 특징으로 사용
+ * - 해밍 거리가 작을수록 비슷한 문장
+ */
+final class SimHash {
+
+    static final int BITS = 64;
+    private static final int SHINGLE_SIZE = 3;
+
+    private SimHash() {
+    }
+
+    /**
+     * 정규화된 문장의 shingle 개수 (너무 짧은 문장은 근사 매칭에서 제외)
+     */
+    static int shingleCount(String normalized) {
+        int length = compactLength(normalized);
+        return Math.max(0, length - SHINGLE_SIZE + 1);
+    }
+
+    static long fingerprint(String normalized) {
+        char[] compact = compact(normalized);
+        if (compact.length < SHINGLE_SIZE) {
+            return hash(compact, 0, compact.length);
+        }
+
+        int[] weights = new int[BITS];
+        for (int i = 0; i + SHINGLE_SIZE <= compact.length; i++) {
+            long h = hash(compact, i, SHINGLE_SIZE);
+            for (int bit = 0; bit < BITS; bit++) {
+                weights[bit] += ((h >>> bit) & 1L) == 1L ? 1 : -1;
+            }
+        }
+
+        long fingerprint = 0L;
+        for (int bit = 0; bit < BITS; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /**
+     * 지문을 bands개 구간으로 나눈 값 (한 구간이라도 같으면 후보)
+     * - 해밍 거리 d < bands 이면 최소 한 구간은 반드시 일치 (비둘기집 원리)
+     */
+    static int band(long fingerprint, int index, int bands) {
+        int width = BITS / bands;
+        return (int) ((fingerprint >>> (index * width)) & ((1L << width) - 1));
+    }
+
+    private static int compactLength(String normalized) {
+        int length = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (normalized.charAt(i) != ' ') {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    // 한국어는 띄어쓰기 편차가 커서 공백을 제외하고 비교
+    private static char[] compact(String normalized) {
+        char[] compact = new char[compactLength(normalized)];
+        int index = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c != ' ') {
+                compact[index++] = c;
+            }
+        }
+        return compact;
+    }
+
+    // FNV-1a 64 + splitmix64 finalizer (비트 분포 보정)
+    private static long hash(char[] chars, int offset, int length) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = offset; i < offset + length; i++) {
+            h ^= chars[i];
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return h;
+    }
+}
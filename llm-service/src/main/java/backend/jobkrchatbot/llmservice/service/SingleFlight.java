@@ -0,0 +1,83 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 동일 프롬프트 동시 요청 합치기 (single-flight)
+ * - 같은 키로 진행 중인 Claude 스트림이 있으면 새로 열지 않고 그 스트림에 합류
+ * - 늦게 합류한 요청도 처음부터 받도록 스트림 전체를 재생 (cache)
+ * - 구독자 하나가 취소해도 upstream은 끝까지 진행, 종료 시 키 제거
+ *
+ * 메트릭
+ * - llm.singleflight.calls{role=leader|follower}: upstream을 연 요청 / 합류한 요청 수
+ * - llm.singleflight.inflight: 진행 중인 upstream 스트림 수
+ */
+@Component
+public class SingleFlight {
+
+    private final boolean enabled;
+    private final ConcurrentHashMap<String, Flux<String>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${llm.single-flight.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        this.leaders = callCounter(meterRegistry, "leader");
+        this.followers = callCounter(meterRegistry, "follower");
+        Gauge.builder("llm.singleflight.inflight", inFlight, ConcurrentHashMap::size)
+            .description("Shared upstream LLM streams in flight")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 키에 해당하는 진행 중 스트림에 합류하거나, 없으면 upstream으로 새 스트림 생성
+     */
+    public Call join(String key, Supplier<Flux<String>> upstream) {
+        if (!enabled) {
+            return new Call(upstream.get(), true);
+        }
+
+        AtomicReference<Flux<String>> created = new AtomicReference<>();
+        Flux<String> shared = inFlight.computeIfAbsent(key, k -> {
+            AtomicReference<Flux<String>> self = new AtomicReference<>();
+            self.set(upstream.get()
+                .doFinally(signal -> inFlight.remove(k, self.get()))
+                .cache());
+            created.set(self.get());
+            return self.get();
+        });
+
+        boolean leader = created.get() == shared;
+        (leader ? leaders : followers).increment();
+        return new Call(shared, leader);
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("llm.singleflight.calls")
+            .description("LLM requests by single-flight role")
+            .tag("role", role)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 합류 결과 (leader: 이 요청이 upstream을 연 경우 - 응답 캐시 저장 등 1회성 처리 담당)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Call {
+        private final Flux<String> flux;
+        private final boolean leader;
+    }
+}
@@ -0,0 +1,431 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import backend.jobkrchatbot.llmservice.dto.StreamEvent;
+import backend.jobkrchatbot.llmservice.infrastructure.RedisSseRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방별 SSE 연결 관리
+ * - 이 노드에 연결된 SSE 연결을 채팅방별 RoomBroadcaster로 보관 (servlet SseEmitter / reactive Flux, 탭·기기마다 하나)
+ * - 다른 노드에도 연결된 채팅방은 RedisSseRelay를 통해 그 노드들에도 전달 (구독자가 있는 노드는 모두 소유 노드)
+ * - 재연결이 Last-Event-ID를 보내면 요청의 재생 버퍼(StreamReplayBuffer)에서 다음 이벤트부터 재생
+ *   버퍼가 다른 노드에 있으면 그 노드로 재생을 요청하고, 그 노드가 이후 이벤트를 이 노드로 전달
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SseConnectionRegistry implements HeartbeatWheel.Listener {
+
+    private static final long EMITTER_TIMEOUT_MILLIS = 1800000L; // 30분 타임아웃 (1800초)
+
+    // 재연결 재생 제어 이벤트 (노드 간 전달 전용, 클라이언트로는 보내지 않음)
+    private static final String RESUME_EVENT = "__resume";
+    private static final String RESUMED_EVENT = "__resumed";
+    // 재생할 수 없을 때(만료·회수) 클라이언트로 보내는 이벤트: 부분 응답을 버리고 complete의 fullResponse나 히스토리로 대체
+    private static final String RESET_EVENT = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final Optional<RedisSseRelay> sseRelay;
+    private final StreamReplayBuffer replayBuffer;
+    private final HeartbeatWheel heartbeatWheel;
+    private final OutboundBuffering outboundBuffering;
+
+    // 채팅방별 구독자 목록 (추가/제거는 compute 안에서 수행해 빈 목록 정리와 경합하지 않음)
+    private final ConcurrentHashMap<String, RoomBroadcaster> rooms = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void start() {
+        sseRelay.ifPresent(relay -> relay.subscribe(this::deliver));
+        heartbeatWheel.start(this);
+    }
+
+    /**
+     * keep-alive: 등록된 연결마다 HeartbeatWheel이 interval 간격으로 ping, 성공한 채팅방은 Redis 소유권 재등록
+     */
+    @Override
+    public void onHeartbeat(List<String> chatRoomIds) {
+        // 배치 사이 마지막 구독자가 끊긴 채팅방은 제외 (소유권을 다시 가져오지 않도록)
+        sseRelay.ifPresent(relay -> relay.refreshOwners(chatRoomIds.stream()
+            .filter(rooms::containsKey)
+            .distinct()
+            .toList()));
+    }
+
+    @Override
+    public void onHeartbeatFailed(String chatRoomId, SseSubscriber subscriber) {
+        log.warn("Failed to send keep-alive to chat room: {}, removing connection", chatRoomId);
+        removeSubscriber(chatRoomId, subscriber);
+    }
+
+    /**
+     * 채팅방별 직접 SSE 스트리밍 연결 생성 (servlet 모드)
+     * - 같은 채팅방의 다른 연결(다른 탭·기기)은 유지하고 구독자로 추가
+     */
+    public SseEmitter createStreamingConnection(String chatRoomId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        EmitterSseSubscriber subscriber = new EmitterSseSubscriber(emitter,
+            outboundBuffering.open(chatRoomId), outboundBuffering);
+
+        // 연결 완료 시 처리
+        emitter.onCompletion(() -> {
+            log.info("SSE emitter completed for chat room: {}", chatRoomId);
+            removeSubscriber(chatRoomId, subscriber);
+        });
+
+        // 타임아웃 시 처리
+        emitter.onTimeout(() -> {
+            log.info("SSE emitter timeout for chat room: {}", chatRoomId);
+            removeSubscriber(chatRoomId, subscriber);
+        });
+
+        // 오류 시 처리
+        emitter.onError((ex) -> {
+            log.error("SSE emitter error for chat room: {}", chatRoomId, ex);
+            removeSubscriber(chatRoomId, subscriber);
+        });
+
+        connect(chatRoomId, subscriber, lastEventId);
+        log.info("SSE emitter created for chat room: {} with 30min timeout", chatRoomId);
+
+        return emitter;
+    }
+
+    /**
+     * 채팅방별 직접 SSE 스트리밍 연결 생성 (reactive 모드)
+     * - 같은 채팅방의 다른 연결(다른 탭·기기)은 유지하고 구독자로 추가
+     */
+    public Flux<ServerSentEvent<String>> createReactiveStreamingConnection(String chatRoomId, String lastEventId) {
+        ReactiveSseSubscriber subscriber = new ReactiveSseSubscriber(outboundBuffering.open(chatRoomId));
+
+        connect(chatRoomId, subscriber, lastEventId);
+        log.info("Reactive SSE stream created for chat room: {} with 30min timeout", chatRoomId);
+
+        return subscriber.asFlux()
+            .take(Duration.ofMillis(EMITTER_TIMEOUT_MILLIS))
+            .doFinally(signal -> {
+                log.info("Reactive SSE stream finished for chat room: {} ({})", chatRoomId, signal);
+                removeSubscriber(chatRoomId, subscriber);
+            });
+    }
+
+    /**
+     * 연결 등록, Last-Event-ID(requestId:seq)가 있으면 그 요청의 다음 이벤트부터 이 연결에만 재생
+     * - 이 노드에 재생 버퍼가 있으면 버퍼 lock 안에서 등록 후 바로 재생 (실시간 이벤트가 재생 사이에 끼지 않음)
+     * - 다른 노드에 있으면 그 노드로 재생 요청, 재생이 끝날 때까지(__resumed) 이 연결은 그 요청의 실시간 이벤트를 건너뜀
+     * - 어디에도 없으면 reset 이벤트
+     */
+    private void connect(String chatRoomId, SseSubscriber subscriber, String lastEventId) {
+        ResumePoint point = ResumePoint.parse(lastEventId);
+        if (point == null) {
+            register(chatRoomId, subscriber, null);
+            return;
+        }
+
+        Optional<ResumableStream> local = replayBuffer.find(point.requestId);
+        Optional<String> holder = local.isPresent()
+            ? Optional.empty()
+            : sseRelay.flatMap(relay -> relay.findReplayNode(point.requestId));
+
+        if (holder.isPresent()) {
+            RedisSseRelay relay = sseRelay.get();
+            register(chatRoomId, subscriber, point.requestId);
+            boolean requested = relay.publish(holder.get(), StreamEvent.builder()
+                .chatRoomId(chatRoomId)
+                .eventName(RESUME_EVENT)
+                .id(lastEventId)
+                .sourceNodeId(relay.getNodeId())
+                .build());
+            if (requested) {
+                log.info("Requested SSE replay from node: {} - requestId: {}", holder.get(), point.requestId);
+                return;
+            }
+            // 버퍼를 보유한 노드가 사라짐: 재생 대기를 풀고 reset
+            log.warn("SSE replay node {} has no subscriber - requestId: {}", holder.get(), point.requestId);
+            RoomBroadcaster room = rooms.get(chatRoomId);
+            if (room != null) {
+                room.endReplay(point.requestId);
+            }
+            try {
+                subscriber.send(resetFrame(chatRoomId, point));
+            } catch (IOException e) {
+                log.warn("Failed to send SSE reset - requestId: {}", point.requestId, e);
+            }
+            replayBuffer.recordResume(false);
+            return;
+        }
+
+        resume(local.orElse(null), point, SseRoute.local(chatRoomId), new ResumableStream.Replay() {
+            @Override
+            public void begin() {
+                register(chatRoomId, subscriber, null);
+            }
+
+            @Override
+            public void frame(SseFrame frame) throws IOException {
+                subscriber.send(frame);
+            }
+
+            @Override
+            public void end(boolean replayed) throws IOException {
+                if (!replayed) {
+                    subscriber.send(resetFrame(chatRoomId, point));
+                }
+            }
+        });
+    }
+
+    /**
+     * 다른 노드에 연결된 재연결의 재생 요청 처리 (재생 이벤트 → 종료 표식 순서로 그 노드에 전달, 이후 실시간 이벤트도 전달)
+     */
+    private void handleResumeRequest(StreamEvent event) {
+        ResumePoint point = ResumePoint.parse(event.getId());
+        if (point == null || event.getSourceNodeId() == null) {
+            return;
+        }
+        RedisSseRelay relay = sseRelay.orElseThrow();
+        String chatRoomId = event.getChatRoomId();
+        String targetNodeId = event.getSourceNodeId();
+
+        resume(replayBuffer.find(point.requestId).orElse(null), point, SseRoute.remote(chatRoomId, targetNodeId),
+            new ResumableStream.Replay() {
+                @Override
+                public void begin() {
+                }
+
+                @Override
+                public void frame(SseFrame frame) {
+                    relay.publish(targetNodeId, toStreamEvent(chatRoomId, frame, true));
+                }
+
+                @Override
+                public void end(boolean replayed) throws IOException {
+                    if (!replayed) {
+                        frame(resetFrame(chatRoomId, point));
+                    }
+                    relay.publish(targetNodeId, StreamEvent.builder()
+                        .chatRoomId(chatRoomId)
+                        .eventName(RESUMED_EVENT)
+                        .data(point.requestId)
+                        .build());
+                }
+            });
+    }
+
+    /**
+     * 재생 버퍼가 있으면 경로를 추가하고 다음 이벤트부터 재생, 없으면 등록 후 reset
+     */
+    private void resume(ResumableStream stream, ResumePoint point, SseRoute route, ResumableStream.Replay replay) {
+        boolean replayed = false;
+        try {
+            if (stream != null) {
+                replayed = stream.resume(point.lastSeq, route, replay);
+            } else {
+                replay.begin();
+                replay.end(false);
+            }
+            log.info("SSE resume - requestId: {}, after seq: {}, replayed: {}", point.requestId, point.lastSeq, replayed);
+        } catch (IOException e) {
+            log.warn("Failed to replay SSE events - requestId: {}", point.requestId, e);
+        }
+        replayBuffer.recordResume(replayed);
+    }
+
+    /**
+     * 재생할 수 없음을 알리는 이벤트 (id는 재개 지점 그대로 유지)
+     */
+    private SseFrame resetFrame(String chatRoomId, ResumePoint point) throws IOException {
+        return SseFrame.of(RESET_EVENT, point.requestId + ResumableStream.ID_SEPARATOR + point.lastSeq,
+            objectMapper.writeValueAsString(Map.of(
+                "requestId", point.requestId,
+                "chatRoomId", chatRoomId
+            )));
+    }
+
+    /**
+     * 요청 하나의 이벤트 흐름 시작 (순번 부여 + 재생 버퍼 보관, 다른 노드 재연결용으로 보유 노드 등록)
+     */
+    public ResumableStream openStream(String requestId, List<SseRoute> routes) {
+        ResumableStream stream = replayBuffer.open(requestId, routes, this);
+        if (replayBuffer.isEnabled()) {
+            sseRelay.ifPresent(relay -> relay.registerReplay(requestId, replayBuffer.getRetention()));
+        }
+        return stream;
+    }
+
+    private void register(String chatRoomId, SseSubscriber subscriber, String awaitingReplay) {
+        rooms.compute(chatRoomId, (id, room) -> {
+            RoomBroadcaster target = room != null ? room : new RoomBroadcaster(id);
+            target.add(subscriber, awaitingReplay);
+            return target;
+        });
+        sseRelay.ifPresent(relay -> relay.registerOwner(chatRoomId));
+        heartbeatWheel.schedule(chatRoomId, subscriber);
+
+        // 연결 확인 이벤트 전송
+        try {
+            String connectionData = objectMapper.writeValueAsString(Map.of(
+                "chatRoomId", chatRoomId,
+                "message", "SSE 연결이 설정되었습니다",
+                "timestamp", System.currentTimeMillis()
+            ));
+            subscriber.send("connected", connectionData);
+        } catch (Exception e) {
+            log.error("Error sending connection event", e);
+        }
+    }
+
+    /**
+     * 구독자 하나 제거, 채팅방의 마지막 구독자였으면 목록과 Redis 소유권도 정리
+     */
+    private void removeSubscriber(String chatRoomId, SseSubscriber subscriber) {
+        heartbeatWheel.cancel(subscriber);
+        subscriber.release();
+        boolean[] emptied = new boolean[1];
+        rooms.computeIfPresent(chatRoomId, (id, room) -> {
+            if (room.remove(subscriber) && room.isEmpty()) {
+                emptied[0] = true;
+                return null;
+            }
+            return room;
+        });
+        if (emptied[0]) {
+            sseRelay.ifPresent(relay -> relay.releaseOwner(chatRoomId));
+        }
+    }
+
+    /**
+     * 채팅방의 SSE 연결 위치 확인 (로컬 구독자가 있으면 로컬 + Redis에 등록된 다른 소유 노드 전체)
+     * - 같은 채팅방의 탭이 여러 노드에 열려 있어도 모든 탭이 응답을 받도록 경로를 모두 반환, 없으면 빈 목록
+     */
+    public List<SseRoute> resolveRoutes(String chatRoomId) {
+        List<SseRoute> routes = new ArrayList<>(2);
+        if (rooms.containsKey(chatRoomId)) {
+            routes.add(SseRoute.local(chatRoomId));
+        }
+        sseRelay.ifPresent(relay -> relay.findOwnerNodes(chatRoomId)
+            .forEach(nodeId -> routes.add(SseRoute.remote(chatRoomId, nodeId))));
+        return routes;
+    }
+
+    /**
+     * 경로에 따라 로컬 구독자 전체에 전송하거나 소유 노드로 전달
+     *
+     * @return false면 원격 노드 채널에 구독자가 없음 (노드 종료·교체, 그 노드는 소유 노드에서 제거됨)
+     */
+    public boolean send(SseRoute route, SseFrame frame) throws IOException {
+        if (route.isLocal()) {
+            broadcast(route.getChatRoomId(), frame);
+            return true;
+        }
+
+        RedisSseRelay relay = sseRelay.orElseThrow(() -> new IOException("SSE relay is disabled"));
+        if (relay.publish(route.getNodeId(), toStreamEvent(route.getChatRoomId(), frame, false))) {
+            return true;
+        }
+        log.warn("SSE owner node {} has no subscriber, removing it - chat room: {}", route.getNodeId(), route.getChatRoomId());
+        relay.removeOwner(route.getChatRoomId(), route.getNodeId());
+        return false;
+    }
+
+    /**
+     * 구독자가 없는 노드로 보낼 예정이던 이벤트를 보내지 않고 버림 (메트릭만 기록)
+     */
+    void dropRelayed(SseRoute route) {
+        sseRelay.ifPresent(RedisSseRelay::recordDropped);
+    }
+
+    private void broadcast(String chatRoomId, SseFrame frame) throws IOException {
+        RoomBroadcaster room = rooms.get(chatRoomId);
+        if (room == null || room.broadcast(frame, failed -> evict(chatRoomId, failed)) == 0) {
+            throw new IOException("No SSE emitter found for chat room: " + chatRoomId);
+        }
+    }
+
+    private void evict(String chatRoomId, SseSubscriber subscriber) {
+        log.warn("Failed to send SSE event to a subscriber of chat room: {}, removing connection", chatRoomId);
+        removeSubscriber(chatRoomId, subscriber);
+    }
+
+    private static StreamEvent toStreamEvent(String chatRoomId, SseFrame frame, boolean replay) {
+        return StreamEvent.builder()
+            .chatRoomId(chatRoomId)
+            .eventName(frame.getEventName())
+            .data(frame.getData())
+            .id(frame.getId())
+            .replay(replay)
+            .build();
+    }
+
+    /**
+     * 다른 노드에서 전달된 이벤트를 로컬 구독자에게 전송 (한 번 만든 프레임을 구독자 전체가 공유)
+     */
+    private void deliver(StreamEvent event) {
+        String chatRoomId = event.getChatRoomId();
+        if (RESUME_EVENT.equals(event.getEventName())) {
+            handleResumeRequest(event);
+            return;
+        }
+        RoomBroadcaster room = rooms.get(chatRoomId);
+        if (room == null) {
+            log.debug("No SSE subscriber for relayed {} event - chat room: {}", event.getEventName(), chatRoomId);
+            return;
+        }
+        if (RESUMED_EVENT.equals(event.getEventName())) {
+            room.endReplay(event.getData());
+            return;
+        }
+
+        SseFrame frame = SseFrame.of(event.getEventName(), event.getId(), event.getData());
+        if (event.isReplay()) {
+            ResumePoint point = ResumePoint.parse(event.getId());
+            if (point != null) {
+                room.replay(point.requestId, frame, failed -> evict(chatRoomId, failed));
+            }
+            return;
+        }
+        if (room.broadcast(frame, failed -> evict(chatRoomId, failed)) == 0) {
+            log.debug("Relayed {} event reached no subscriber - chat room: {}", event.getEventName(), chatRoomId);
+        }
+    }
+
+    /**
+     * Last-Event-ID(requestId:seq) 파싱 결과
+     */
+    private static final class ResumePoint {
+        private final String requestId;
+        private final long lastSeq;
+
+        private ResumePoint(String requestId, long lastSeq) {
+            this.requestId = requestId;
+            this.lastSeq = lastSeq;
+        }
+
+        private static ResumePoint parse(String lastEventId) {
+            int separator = lastEventId == null ? -1 : lastEventId.lastIndexOf(ResumableStream.ID_SEPARATOR);
+            if (separator <= 0) {
+                return null;
+            }
+            try {
+                return new ResumePoint(lastEventId.substring(0, separator),
+                    Long.parseLong(lastEventId.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+/**
+ * 여러 연결에 그대로 쓰는 SSE 이벤트 하나
+ * - servlet(SseEmitter)용 인코딩 결과와 reactive(ServerSentEvent) 객체를 처음 쓸 때 한 번만 만들고 구독자끼리 공유
+ *   (동시에 처음 쓰면 두 번 만들 수 있지만 결과가 같아 무해)
+ */
+@Getter
+public final class SseFrame {
+
+    // keep-alive ping (모든 연결이 같은 프레임을 공유하도록 채팅방별 내용 없이 고정)
+    public static final SseFrame HEARTBEAT = new SseFrame("ping", null, "{}");
+
+    private static final int FIELD_OVERHEAD_BYTES = 24;
+
+    private final String eventName;
+    private final String id; // 요청 이벤트의 requestId:seq, 없으면 null
+    private final String data;
+
+    @Getter(AccessLevel.NONE)
+    private volatile Set<ResponseBodyEmitter.DataWithMediaType> emitterFrame;
+    @Getter(AccessLevel.NONE)
+    private volatile ServerSentEvent<String> reactiveFrame;
+
+    private SseFrame(String eventName, String id, String data) {
+        this.eventName = eventName;
+        this.id = id;
+        this.data = data;
+    }
+
+    public static SseFrame of(String eventName, String id, String data) {
+        return new SseFrame(eventName, id, data);
+    }
+
+    /**
+     * id가 requestId의 이벤트인지 (requestId:seq)
+     */
+    public boolean belongsTo(String requestId) {
+        return id != null && id.length() > requestId.length()
+            && id.startsWith(requestId) && id.charAt(requestId.length()) == ResumableStream.ID_SEPARATOR;
+    }
+
+    /**
+     * 전송 바이트 추정 (UTF-8에서 한글 3바이트 기준 상한 + event/id/data 필드 구분자)
+     */
+    public int estimatedBytes() {
+        return data.length() * 3 + eventName.length() + (id == null ? 0 : id.length()) + FIELD_OVERHEAD_BYTES;
+    }
+
+    Set<ResponseBodyEmitter.DataWithMediaType> forEmitter() {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = emitterFrame;
+        if (frame == null) {
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(eventName);
+            if (id != null) {
+                event.id(id);
+            }
+            frame = event.data(data).build();
+            emitterFrame = frame;
+        }
+        return frame;
+    }
+
+    ServerSentEvent<String> forReactive() {
+        ServerSentEvent<String> frame = reactiveFrame;
+        if (frame == null) {
+            frame = ServerSentEvent.<String>builder()
+                .id(id)
+                .event(eventName)
+                .data(data)
+                .build();
+            reactiveFrame = frame;
+        }
+        return frame;
+    }
+}
@@ -0,0 +1,28 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 스트리밍 응답을 전달할 경로 (로컬 emitter 또는 emitter를 보유한 원격 노드)
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class SseRoute {
+
+    private final String chatRoomId;
+    private final String nodeId; // null이면 로컬
+
+    public static SseRoute local(String chatRoomId) {
+        return new SseRoute(chatRoomId, null);
+    }
+
+    public static SseRoute remote(String chatRoomId, String nodeId) {
+        return new SseRoute(chatRoomId, nodeId);
+    }
+
+    public boolean isLocal() {
+        return nodeId == null;
+    }
+}
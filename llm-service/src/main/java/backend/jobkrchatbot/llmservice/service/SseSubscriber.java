@@ -0,0 +1,29 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import java.io.IOException;
+
+/**
+ * 채팅방 SSE 연결 하나 (servlet SseEmitter 또는 WebFlux Flux)
+ * - 같은 채팅방의 여러 연결(탭·기기)이 RoomBroadcaster에서 같은 SseFrame을 공유
+ */
+public interface SseSubscriber {
+
+    default void send(String eventName, String data) throws IOException {
+        send(SseFrame.of(eventName, null, data));
+    }
+
+    /**
+     * 프레임의 id가 있으면 SSE id 필드로 전송 (브라우저가 재연결 시 Last-Event-ID로 돌려줌)
+     */
+    void send(SseFrame frame) throws IOException;
+
+    /**
+     * 대기 중인 프레임이 모두 나간 뒤 연결 종료
+     */
+    void complete();
+
+    /**
+     * 연결이 끝난 뒤 정리 (대기 중인 프레임 폐기, 이후 send는 실패)
+     */
+    void release();
+}
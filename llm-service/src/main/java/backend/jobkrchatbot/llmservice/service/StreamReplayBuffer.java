@@ -0,0 +1,200 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청별 SSE 재생 버퍼 (이 노드에서 생성 중이거나 최근에 끝난 요청의 이벤트, 메모리 보관)
+ * - 재연결이 Last-Event-ID(requestId:seq)를 보내면 다음 이벤트부터 재생 (Claude 재호출 없음)
+ * - 요청당 max-bytes-per-request, 노드 전체 max-total-bytes 한도
+ *   전체 한도 초과 시 끝난 버퍼부터 오래된 순으로 회수, 그래도 넘으면 기록 중인 요청의 앞부분을 잘라냄
+ * - 끝난 버퍼는 finished-ttl, complete/error 없이 남은 버퍼는 max-age 후 만료
+ *
+ * 메트릭
+ * - llm.sse.replay.buffers / llm.sse.replay.bytes: 보관 중인 요청 수 / 추정 바이트
+ * - llm.sse.replay.evictions{reason=expired|memory}: 만료·메모리 회수로 버린 버퍼 수
+ * - llm.sse.replay.resumes{result=replayed|reset}: 재연결 재생 결과
+ */
+@Slf4j
+@Component
+public class StreamReplayBuffer {
+
+    @Getter
+    private final boolean enabled;
+    @Getter
+    private final int maxBytesPerRequest;
+    private final long maxTotalBytes;
+    private final long finishedTtlMillis;
+    private final long maxAgeMillis;
+    @Getter
+    private final Duration retention;
+
+    private final ConcurrentHashMap<String, ResumableStream> streams = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<ResumableStream> finishedOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger finishedCount = new AtomicInteger(); // ConcurrentLinkedQueue.size()는 O(n)
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    private final Counter expired;
+    private final Counter reclaimed;
+    private final Counter replayed;
+    private final Counter resets;
+
+    public StreamReplayBuffer(MeterRegistry meterRegistry,
+                              @Value("${llm.sse.replay.enabled:true}") boolean enabled,
+                              @Value("${llm.sse.replay.max-bytes-per-request:262144}") int maxBytesPerRequest,
+                              @Value("${llm.sse.replay.max-total-bytes:67108864}") long maxTotalBytes,
+                              @Value("${llm.sse.replay.finished-ttl:2m}") Duration finishedTtl,
+                              @Value("${llm.sse.replay.max-age:15m}") Duration maxAge) {
+        this.enabled = enabled;
+        this.maxBytesPerRequest = maxBytesPerRequest;
+        this.maxTotalBytes = maxTotalBytes;
+        this.finishedTtlMillis = finishedTtl.toMillis();
+        this.maxAgeMillis = maxAge.toMillis();
+        this.retention = maxAge.plus(finishedTtl);
+
+        this.expired = evictions(meterRegistry, "expired");
+        this.reclaimed = evictions(meterRegistry, "memory");
+        this.replayed = resumes(meterRegistry, "replayed");
+        this.resets = resumes(meterRegistry, "reset");
+        Gauge.builder("llm.sse.replay.buffers", streams, ConcurrentHashMap::size)
+            .description("Requests with a buffered SSE replay log")
+            .register(meterRegistry);
+        Gauge.builder("llm.sse.replay.bytes", totalBytes, AtomicLong::get)
+            .description("Estimated bytes held by SSE replay buffers")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    private static Counter evictions(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("llm.sse.replay.evictions")
+            .description("SSE replay buffers dropped before being resumed")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    private static Counter resumes(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("llm.sse.replay.resumes")
+            .description("SSE reconnects carrying Last-Event-ID")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    ResumableStream open(String requestId, List<SseRoute> routes, SseConnectionRegistry registry) {
+        ResumableStream stream = new ResumableStream(requestId, routes, registry, this, enabled);
+        if (enabled) {
+            ResumableStream previous = streams.put(requestId, stream);
+            if (previous != null) {
+                // 같은 요청 재처리(리밸런스 등)는 새 흐름으로 교체
+                remove(previous);
+            }
+        }
+        return stream;
+    }
+
+    Optional<ResumableStream> find(String requestId) {
+        return Optional.ofNullable(streams.get(requestId));
+    }
+
+    void recordResume(boolean success) {
+        (success ? replayed : resets).increment();
+    }
+
+    void finished(ResumableStream stream) {
+        if (enabled) {
+            addFinished(stream);
+        }
+    }
+
+    void reserve(int bytes) {
+        totalBytes.addAndGet(bytes);
+    }
+
+    void release(int bytes) {
+        totalBytes.addAndGet(-bytes);
+    }
+
+    /**
+     * 전체 한도를 넘었으면 끝난 버퍼를 오래된 순으로 회수, 한도 안으로 들어오면 true
+     * - 프레임마다 ResumableStream lock 안에서 호출되므로 한도 안이면 바로 반환
+     */
+    boolean reclaim() {
+        if (totalBytes.get() <= maxTotalBytes) {
+            return true;
+        }
+        int candidates = finishedCount.get(); // 재생 중이라 다시 넣은 버퍼를 반복해서 꺼내지 않도록
+        while (totalBytes.get() > maxTotalBytes) {
+            ResumableStream oldest = candidates-- > 0 ? pollFinished() : null;
+            if (oldest == null) {
+                return false;
+            }
+            if (remove(oldest)) {
+                reclaimed.increment();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 끝난 버퍼는 finished-ttl, 끝나지 않은 버퍼는 max-age가 지나면 제거
+     */
+    @Scheduled(fixedDelayString = "${llm.sse.replay.sweep-interval-ms:10000}")
+    public void expire() {
+        long now = System.currentTimeMillis();
+        int candidates = finishedCount.get();
+        ResumableStream head;
+        while (candidates-- > 0 && (head = finishedOrder.peek()) != null && now - head.getFinishedAt() > finishedTtlMillis) {
+            ResumableStream oldest = pollFinished();
+            if (oldest != null && remove(oldest)) {
+                expired.increment();
+            }
+        }
+        for (ResumableStream stream : streams.values()) {
+            if (!stream.isFinished() && now - stream.getOpenedAt() > maxAgeMillis && remove(stream)) {
+                log.warn("Expired unfinished SSE replay buffer - requestId: {}", stream.getRequestId());
+                expired.increment();
+            }
+        }
+    }
+
+    private boolean remove(ResumableStream stream) {
+        if (!streams.remove(stream.getRequestId(), stream)) {
+            return false;
+        }
+        if (!stream.discard()) {
+            // 재생 중이라 lock을 못 잡으면 다음 주기에 다시 시도
+            streams.putIfAbsent(stream.getRequestId(), stream);
+            if (stream.isFinished()) {
+                addFinished(stream);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private void addFinished(ResumableStream stream) {
+        finishedOrder.add(stream);
+        finishedCount.incrementAndGet();
+    }
+
+    private ResumableStream pollFinished() {
+        ResumableStream stream = finishedOrder.poll();
+        if (stream != null) {
+            finishedCount.decrementAndGet();
+        }
+        return stream;
+    }
+}
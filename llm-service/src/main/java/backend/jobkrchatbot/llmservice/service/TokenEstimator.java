@@ -0,0 +1,39 @@
+package backend.jobkrchatbot.llmservice.service;
+
+/**
+ * 토크나이저 없이 한 번의 문자 순회로 토큰 수 추정 (컨텍스트 예산 계산용, 과소 추정보다 과대 추정 쪽)
+ * - 한글 음절/자모, CJK: 글자당 1토큰 (BPE에서 한글은 대개 음절 1~2개가 1토큰)
+ * - ASCII 영숫자: 4글자당 1토큰
+ * - 공백: 0, 그 외 기호/이모지: 글자당 1토큰
+ * - 메시지마다 role/구분자 오버헤드 MESSAGE_OVERHEAD 추가
+ */
+public final class TokenEstimator {
+
+    public static final int MESSAGE_OVERHEAD = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return MESSAGE_OVERHEAD;
+        }
+        int wide = 0;
+        int ascii = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (Character.isLetterOrDigit(c)) {
+                    ascii++;
+                } else if (!Character.isWhitespace(c)) {
+                    wide++;
+                }
+            } else if (Character.isLowSurrogate(c)) {
+                // 서로게이트 쌍은 high에서 한 번만 셈
+            } else if (!Character.isWhitespace(c)) {
+                wide++;
+            }
+        }
+        return MESSAGE_OVERHEAD + wide + (ascii + 3) / 4;
+    }
+}
@@ -0,0 +1,185 @@
+package backend.jobkrchatbot.llmservice.infrastructure;
+
+import backend.jobkrchatbot.llmservice.dto.ConversationTurn;
+import backend.jobkrchatbot.llmservice.service.PromptTemplate;
+import backend.jobkrchatbot.llmservice.service.PromptTemplateRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 stub 서버(MockWebServer)로 Claude Messages API 요청 본문 검증
+ * - system prefix 블록과 cache_control 위치, 요청 간 prefix 바이트 동일성
+ */
+class ClaudeRequestEncoderTest {
+
+    private static final String MODEL = "claude-3-sonnet-20240229";
+    private static final byte[] MESSAGES_FIELD = "\"messages\":[".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockWebServer server;
+    private PromptTemplate systemPrompt;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+
+        PromptTemplateRegistry registry = new PromptTemplateRegistry();
+        ReflectionTestUtils.setField(registry, "jobSeekerVersion", "v1");
+        registry.loadTemplates();
+        systemPrompt = registry.getActive(PromptTemplateRegistry.JOB_SEEKER);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("system 블록은 템플릿 텍스트 하나이고 cache_control은 그 블록에만 붙는다")
+    void sendsCachedSystemPrefixBlock() throws Exception {
+        ClaudeClient client = client(encoder(true));
+        server.enqueue(streamResponse("안녕하세요", "!"));
+
+        List<String> deltas = client.generateStreamingResponse(List.of(user("자기소개서 첨삭해 주세요")), systemPrompt)
+            .collectList()
+            .block(Duration.ofSeconds(10));
+
+        RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(request).isNotNull();
+        assertThat(request.getHeader("x-api-key")).isEqualTo("test-key");
+        assertThat(request.getHeader("anthropic-version")).isEqualTo("2023-06-01");
+        assertThat(request.getHeader("Content-Type")).startsWith("application/json");
+
+        JsonNode body = objectMapper.readTree(request.getBody().readByteArray());
+        assertThat(body.get("model").asText()).isEqualTo(MODEL);
+        assertThat(body.get("max_tokens").asInt()).isEqualTo(2000);
+        assertThat(body.get("stream").asBoolean()).isTrue();
+
+        JsonNode system = body.get("system");
+        assertThat(system.isArray()).isTrue();
+        assertThat(system).hasSize(1);
+        assertThat(system.get(0).get("type").asText()).isEqualTo("text");
+        assertThat(system.get(0).get("text").asText()).isEqualTo(systemPrompt.getText());
+        assertThat(system.get(0).get("cache_control").get("type").asText()).isEqualTo("ephemeral");
+
+        JsonNode messages = body.get("messages");
+        assertThat(messages).hasSize(1);
+        assertThat(messages.get(0).get("role").asText()).isEqualTo(ConversationTurn.USER);
+        assertThat(messages.get(0).get("content").asText()).isEqualTo("자기소개서 첨삭해 주세요");
+        assertThat(messages.get(0).has("cache_control")).isFalse();
+
+        assertThat(deltas).containsExactly("안녕하세요", "!");
+    }
+
+    @Test
+    @DisplayName("prompt caching을 끄면 cache_control 없이 보낸다")
+    void omitsCacheControlWhenDisabled() throws Exception {
+        ClaudeClient client = client(encoder(false));
+        server.enqueue(streamResponse("ok"));
+
+        client.generateStreamingResponse(List.of(user("질문")), systemPrompt).blockLast(Duration.ofSeconds(10));
+
+        JsonNode body = objectMapper.readTree(server.takeRequest(5, TimeUnit.SECONDS).getBody().readByteArray());
+        assertThat(body.get("system").get(0).has("cache_control")).isFalse();
+    }
+
+    @Test
+    @DisplayName("요청마다 messages 앞까지의 prefix 바이트가 같고, 같은 입력이면 본문 전체가 같다")
+    void keepsPrefixBytesStableAcrossRequests() throws Exception {
+        ClaudeClient client = client(encoder(true));
+        List<ConversationTurn> first = List.of(user("백엔드 면접 질문 뽑아 주세요"));
+        List<ConversationTurn> second = List.of(
+            user("백엔드 면접 질문 뽑아 주세요"),
+            new ConversationTurn(ConversationTurn.ASSISTANT, "1. 트랜잭션 격리 수준을 설명해 주세요.", 20),
+            user("더 어렵게 \"심화\" 질문으로\n부탁해요"));
+
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(streamResponse("ok"));
+        }
+        client.generateStreamingResponse(first, systemPrompt).blockLast(Duration.ofSeconds(10));
+        client.generateStreamingResponse(second, systemPrompt).blockLast(Duration.ofSeconds(10));
+        client.generateStreamingResponse(first, systemPrompt).blockLast(Duration.ofSeconds(10));
+
+        byte[] firstBody = server.takeRequest(5, TimeUnit.SECONDS).getBody().readByteArray();
+        byte[] secondBody = server.takeRequest(5, TimeUnit.SECONDS).getBody().readByteArray();
+        byte[] repeatedBody = server.takeRequest(5, TimeUnit.SECONDS).getBody().readByteArray();
+
+        assertThat(prefixOf(secondBody)).isEqualTo(prefixOf(firstBody));
+        assertThat(repeatedBody).isEqualTo(firstBody);
+
+        // 이어 붙인 messages도 올바른 JSON이어야 함
+        JsonNode messages = objectMapper.readTree(secondBody).get("messages");
+        assertThat(messages).hasSize(3);
+        assertThat(messages.get(2).get("content").asText()).isEqualTo("더 어렵게 \"심화\" 질문으로\n부탁해요");
+    }
+
+    private ClaudeRequestEncoder encoder(boolean promptCaching) {
+        ClaudeRequestEncoder encoder = new ClaudeRequestEncoder(objectMapper);
+        ReflectionTestUtils.setField(encoder, "model", MODEL);
+        ReflectionTestUtils.setField(encoder, "maxTokens", 2000);
+        ReflectionTestUtils.setField(encoder, "promptCaching", promptCaching);
+        return encoder;
+    }
+
+    private ClaudeClient client(ClaudeRequestEncoder encoder) {
+        ClaudeClient client = new ClaudeClient(WebClient.builder().build(), objectMapper, encoder);
+        ReflectionTestUtils.setField(client, "apiKey", "test-key");
+        ReflectionTestUtils.setField(client, "apiUrl", server.url("/v1/messages").toString());
+        ReflectionTestUtils.setField(client, "model", MODEL);
+        ReflectionTestUtils.setField(client, "apiVersion", "2023-06-01");
+        client.init();
+        return client;
+    }
+
+    private static ConversationTurn user(String content) {
+        return new ConversationTurn(ConversationTurn.USER, content, content.length());
+    }
+
+    private static MockResponse streamResponse(String... deltas) {
+        StringBuilder body = new StringBuilder()
+            .append("event: message_start\n")
+            .append("data: {\"type\":\"message_start\",\"message\":{\"id\":\"msg_test\"}}\n\n");
+        for (String delta : deltas) {
+            body.append("event: content_block_delta\n")
+                .append("data: {\"type\":\"content_block_delta\",\"index\":0,\"delta\":{\"type\":\"text_delta\",\"text\":\"")
+                .append(delta)
+                .append("\"}}\n\n");
+        }
+        body.append("event: message_stop\n")
+            .append("data: {\"type\":\"message_stop\"}\n\n");
+        return new MockResponse()
+            .setHeader("Content-Type", "text/event-stream")
+            .setBody(body.toString());
+    }
+
+    /**
+     * 본문에서 "messages":[ 까지 (템플릿 버전별로 캐시되는 prefix)
+     */
+    private static byte[] prefixOf(byte[] body) {
+        for (int i = 0; i <= body.length - MESSAGES_FIELD.length; i++) {
+            if (Arrays.equals(body, i, i + MESSAGES_FIELD.length, MESSAGES_FIELD, 0, MESSAGES_FIELD.length)) {
+                return Arrays.copyOf(body, i + MESSAGES_FIELD.length);
+            }
+        }
+        throw new AssertionError("messages field not found");
+    }
+}
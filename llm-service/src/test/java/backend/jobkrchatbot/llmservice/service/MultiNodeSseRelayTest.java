@@ -0,0 +1,235 @@
+package backend.jobkrchatbot.llmservice.service;
+
+import backend.jobkrchatbot.llmservice.infrastructure.RedisSseRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 Redis를 쓰는 llm-service 노드 두 개 사이의 SSE 릴레이 검증
+ * - node-b에 SSE 연결, node-a가 요청을 소비해 스트리밍한다고 보고 node-a에서 이벤트 전송
+ * - 여러 채팅방을 동시에 보내도 채팅방마다 청크가 빠짐없이 순서대로 도착해야 함
+ * - 같은 채팅방이 두 노드에 모두 연결되어 있으면 양쪽 탭 모두 전체 응답을 받아야 함
+ * - 소유 노드가 죽어 채널 구독자가 없으면 소유권을 지우고 버린 이벤트를 메트릭으로 남겨야 함
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MultiNodeSseRelayTest {
+
+    private static final int ROOMS = 4;
+    private static final int CHUNKS = 500;
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+        .withExposedPorts(6379);
+
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new Node("node-a");
+        nodeB = new Node("node-b");
+        // 테스트 간 소유 노드 항목이 남지 않도록
+        nodeA.redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    @DisplayName("다른 노드에 연결된 채팅방으로 보낸 청크가 채팅방마다 빠짐없이 순서대로 도착한다")
+    void relaysEveryChunkInOrderAcrossNodes() throws Exception {
+        List<CompletableFuture<List<ServerSentEvent<String>>>> received = new ArrayList<>();
+        for (int room = 0; room < ROOMS; room++) {
+            received.add(receive(nodeB, chatRoomId(room)));
+        }
+
+        ExecutorService senders = Executors.newFixedThreadPool(ROOMS);
+        try {
+            List<Future<?>> sent = new ArrayList<>();
+            for (int room = 0; room < ROOMS; room++) {
+                String chatRoomId = chatRoomId(room);
+                sent.add(senders.submit(() -> {
+                    List<SseRoute> routes = nodeA.registry.resolveRoutes(chatRoomId);
+                    assertThat(routes).hasSize(1);
+                    assertThat(routes.get(0).isLocal()).isFalse();
+                    assertThat(routes.get(0).getNodeId()).isEqualTo("node-b");
+
+                    sendAll(nodeA.registry.openStream(requestId(chatRoomId), routes));
+                    return null;
+                }));
+            }
+            for (Future<?> future : sent) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            senders.shutdownNow();
+        }
+
+        for (int room = 0; room < ROOMS; room++) {
+            assertReceivedAll(received.get(room).get(30, TimeUnit.SECONDS), requestId(chatRoomId(room)));
+        }
+    }
+
+    @Test
+    @DisplayName("같은 채팅방이 두 노드에 모두 연결되어 있으면 요청을 소비한 노드가 양쪽 탭 모두에 전달한다")
+    void deliversToSubscribersOnEveryOwnerNode() throws Exception {
+        String chatRoomId = chatRoomId(0);
+        CompletableFuture<List<ServerSentEvent<String>>> onA = receive(nodeA, chatRoomId);
+        CompletableFuture<List<ServerSentEvent<String>>> onB = receive(nodeB, chatRoomId);
+
+        // node-b 탭이 나중에 연결되어도 node-a는 소유권을 잃지 않음
+        List<SseRoute> routes = nodeA.registry.resolveRoutes(chatRoomId);
+        assertThat(routes).extracting(SseRoute::getNodeId).containsExactly(null, "node-b");
+        assertThat(nodeB.registry.resolveRoutes(chatRoomId)).extracting(SseRoute::getNodeId)
+            .containsExactly(null, "node-a");
+
+        sendAll(nodeA.registry.openStream(requestId(chatRoomId), routes));
+
+        assertReceivedAll(onA.get(30, TimeUnit.SECONDS), requestId(chatRoomId));
+        assertReceivedAll(onB.get(30, TimeUnit.SECONDS), requestId(chatRoomId));
+    }
+
+    @Test
+    @DisplayName("소유 노드 채널에 구독자가 없으면 그 노드를 소유 노드에서 지우고 버린 이벤트를 센다")
+    void removesOwnerWithoutSubscriber() throws Exception {
+        String chatRoomId = chatRoomId(0);
+        receive(nodeB, chatRoomId);
+        List<SseRoute> routes = nodeA.registry.resolveRoutes(chatRoomId);
+        assertThat(routes).extracting(SseRoute::getNodeId).containsExactly("node-b");
+
+        // node-b가 죽음 (노드 채널 구독 해제, 소유권 항목은 TTL까지 남아 있음)
+        nodeB.listenerContainer.stop();
+
+        ResumableStream stream = nodeA.registry.openStream(requestId(chatRoomId), routes);
+        stream.send("chunk", "chunk-0");
+        // 경로를 다시 조회해 빈 경로가 되었으므로 이후 이벤트는 node-b로 보내지 않음
+        stream.send("chunk", "chunk-1");
+
+        assertThat(nodeA.relay.findOwnerNodes(chatRoomId)).isEmpty();
+        assertThat(nodeA.registry.resolveRoutes(chatRoomId)).isEmpty();
+        assertThat(nodeA.meterRegistry.get("llm.sse.relay.dropped").counter().count()).isEqualTo(1.0);
+    }
+
+    private static CompletableFuture<List<ServerSentEvent<String>>> receive(Node node, String chatRoomId) {
+        return node.registry.createReactiveStreamingConnection(chatRoomId, null)
+            .filter(event -> "chunk".equals(event.event()) || "complete".equals(event.event()))
+            .takeUntil(event -> "complete".equals(event.event()))
+            .collectList()
+            .toFuture();
+    }
+
+    private static void sendAll(ResumableStream stream) throws Exception {
+        for (int i = 0; i < CHUNKS; i++) {
+            stream.send("chunk", "chunk-" + i);
+        }
+        stream.send("complete", "{}");
+        stream.finish();
+    }
+
+    private static void assertReceivedAll(List<ServerSentEvent<String>> events, String requestId) {
+        assertThat(events).hasSize(CHUNKS + 1);
+        for (int i = 0; i < CHUNKS; i++) {
+            ServerSentEvent<String> event = events.get(i);
+            assertThat(event.event()).isEqualTo("chunk");
+            assertThat(event.id()).isEqualTo(requestId + ResumableStream.ID_SEPARATOR + i);
+            assertThat(event.data()).isEqualTo("chunk-" + i);
+        }
+        assertThat(events.get(CHUNKS).event()).isEqualTo("complete");
+    }
+
+    private static String chatRoomId(int room) {
+        return "room-" + room;
+    }
+
+    private static String requestId(String chatRoomId) {
+        return "request-" + chatRoomId;
+    }
+
+    /**
+     * 노드 하나 (Redis 연결, 노드 채널 구독, 레지스트리를 노드마다 따로 둠)
+     */
+    private static final class Node {
+
+        private final LettuceConnectionFactory connectionFactory;
+        private final StringRedisTemplate redisTemplate;
+        private final MeterRegistry meterRegistry;
+        private final RedisMessageListenerContainer listenerContainer;
+        private final RedisSseRelay relay;
+        private final HeartbeatWheel heartbeatWheel;
+        private final OutboundBuffering outboundBuffering;
+        private final SseConnectionRegistry registry;
+
+        private Node(String nodeId) {
+            connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            redisTemplate = new StringRedisTemplate(connectionFactory);
+
+            listenerContainer = new RedisMessageListenerContainer();
+            listenerContainer.setConnectionFactory(connectionFactory);
+            listenerContainer.setTaskExecutor(new SyncTaskExecutor());
+            listenerContainer.afterPropertiesSet();
+
+            ObjectMapper objectMapper = new ObjectMapper();
+            meterRegistry = new SimpleMeterRegistry();
+            relay = new RedisSseRelay(redisTemplate, listenerContainer, objectMapper, meterRegistry);
+            ReflectionTestUtils.setField(relay, "nodeId", nodeId);
+            ReflectionTestUtils.setField(relay, "dispatchThreads", 4);
+
+            heartbeatWheel = new HeartbeatWheel(meterRegistry, Duration.ofMinutes(5), 300, 1);
+            StreamReplayBuffer replayBuffer = new StreamReplayBuffer(meterRegistry, true, 262144, 67108864L,
+                Duration.ofMinutes(2), Duration.ofMinutes(15));
+            // 수신 측 버퍼가 넘치면 chunk가 버려지므로 이 테스트에서는 한도를 넉넉하게
+            outboundBuffering = new OutboundBuffering(meterRegistry, objectMapper, 16 * 1024 * 1024, "complete-only",
+                16, 1024, Duration.ofSeconds(10), 32);
+            registry = new SseConnectionRegistry(objectMapper, Optional.of(relay), replayBuffer, heartbeatWheel,
+                outboundBuffering);
+
+            // 노드 채널 리스너를 먼저 등록하고 컨테이너 시작 (start는 구독이 확인될 때까지 대기)
+            registry.start();
+            listenerContainer.start();
+        }
+
+        private void close() {
+            listenerContainer.stop();
+            relay.shutdown();
+            heartbeatWheel.shutdown();
+            outboundBuffering.shutdown();
+            connectionFactory.destroy();
+        }
+    }
+}